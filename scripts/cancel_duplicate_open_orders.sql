@@ -0,0 +1,16 @@
+-- Run manually before upgrading to migration V6 when it reports assets with more than one open order.
+-- Keeps the newest open order per asset, cancels the others and lists every cancelled order.
+BEGIN;
+
+UPDATE maintenance_orders
+SET status = 'CANCELLED', updated_at = CURRENT_TIMESTAMP
+WHERE status IN ('PENDING', 'IN_PROGRESS')
+  AND id NOT IN (
+    SELECT DISTINCT ON (asset_id) id
+    FROM maintenance_orders
+    WHERE status IN ('PENDING', 'IN_PROGRESS')
+    ORDER BY asset_id, created_at DESC, id DESC
+  )
+RETURNING id, asset_id, description, placed_by, created_at;
+
+COMMIT;
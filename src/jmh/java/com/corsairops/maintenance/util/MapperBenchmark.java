@@ -0,0 +1,188 @@
+package com.corsairops.maintenance.util;
+
+import com.corsairops.maintenance.dto.OrderNoteResponse;
+import com.corsairops.maintenance.dto.OrderResponse;
+import com.corsairops.maintenance.model.OrderNoteView;
+import com.corsairops.maintenance.model.OrderStatus;
+import com.corsairops.maintenance.model.OrderView;
+import com.corsairops.shared.client.AssetServiceClient;
+import com.corsairops.shared.client.UserServiceClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.BenchmarkParams;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures order and note enrichment against stubbed Asset and User Service clients. Run with
+ * {@code mvn -Pjmh test-compile exec:exec}; pass JMH options through {@code -Djmh.args="..."}, for example
+ * {@code -Djmh.args="MapperBenchmark.orderList -p listSize=1000 -p latencyMicros=2000 -prof gc"}.
+ * <p>
+ * {@code cache=cold} rebuilds the asset and user caches before every invocation, so each call pays for its remote
+ * lookups; {@code cache=warm} primes them once per trial and measures the cache hit path.
+ * <p>
+ * The stub calls each benchmark makes are reported as the {@code assetServiceCalls} and {@code userServiceCalls}
+ * secondary results of the throughput runs. They are only meaningful with a single benchmark thread and read NaN with
+ * {@code -t} above 1, see {@link StubCalls}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2025, 1, 1, 8, 0);
+
+    @Param({"1", "10", "100", "1000", "10000"})
+    private int listSize;
+
+    @Param({"50"})
+    private int distinctAssets;
+
+    @Param({"20"})
+    private int distinctUsers;
+
+    @Param({"0", "500"})
+    private long latencyMicros;
+
+    @Param({"0.0", "0.05"})
+    private double errorRate;
+
+    @Param({"cold", "warm"})
+    private String cache;
+
+    private final AtomicLong assetCalls = new AtomicLong();
+    private final AtomicLong userCalls = new AtomicLong();
+
+    private MeterRegistry meterRegistry;
+    private AssetServiceClient assetServiceClient;
+    private EnrichmentExecutor enrichmentExecutor;
+    private EnrichmentMetrics enrichmentMetrics;
+    private UserBatchLoader userBatchLoader;
+    private OrderMapper orderMapper;
+    private OrderNoteMapper orderNoteMapper;
+
+    private List<OrderView> orders;
+    private List<OrderNoteView> notes;
+
+    @Setup(Level.Trial)
+    public void setUpTrial() {
+        meterRegistry = new SimpleMeterRegistry();
+        assetServiceClient = StubClients.assetServiceClient(latencyMicros, errorRate, assetCalls);
+        UserServiceClient userServiceClient = StubClients.userServiceClient(latencyMicros, errorRate, userCalls);
+        enrichmentExecutor = new EnrichmentExecutor(16, Duration.ofSeconds(2), meterRegistry);
+        enrichmentMetrics = new EnrichmentMetrics(meterRegistry);
+        userBatchLoader = new UserBatchLoader(userServiceClient, enrichmentExecutor, enrichmentMetrics, meterRegistry,
+                Duration.ofMillis(5), 100);
+
+        orders = new ArrayList<>(listSize);
+        notes = new ArrayList<>(listSize);
+        OrderStatus[] statuses = OrderStatus.values();
+        for (int i = 0; i < listSize; i++) {
+            String assetId = new UUID(0, i % distinctAssets).toString();
+            String placedBy = "user-" + (i % distinctUsers);
+            String completedBy = i % 3 == 0 ? "user-" + ((i + 1) % distinctUsers) : null;
+            orders.add(new OrderView((long) i, assetId, "Order " + i, statuses[i % statuses.length], i % 5 + 1,
+                    placedBy, completedBy, CREATED_AT, CREATED_AT, 0L));
+            notes.add(new OrderNoteView((long) i, (long) (i / 10), "Note " + i, placedBy, CREATED_AT));
+        }
+
+        buildMappers();
+        if ("warm".equals(cache)) {
+            orderMapper.toResponseList(orders);
+            orderNoteMapper.toResponseList(notes);
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void setUpInvocation() {
+        if ("cold".equals(cache)) {
+            buildMappers();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDownTrial() {
+        userBatchLoader.shutdown();
+        enrichmentExecutor.shutdown();
+    }
+
+    @Benchmark
+    public List<OrderResponse> orderList(StubCalls stubCalls) {
+        long assets = assetCalls.get();
+        long users = userCalls.get();
+        List<OrderResponse> responses = orderMapper.toResponseList(orders);
+        stubCalls.add(assetCalls.get() - assets, userCalls.get() - users);
+        return responses;
+    }
+
+    @Benchmark
+    public OrderResponse singleOrder(StubCalls stubCalls) {
+        long assets = assetCalls.get();
+        long users = userCalls.get();
+        OrderResponse response = orderMapper.toResponse(orders.getFirst());
+        stubCalls.add(assetCalls.get() - assets, userCalls.get() - users);
+        return response;
+    }
+
+    @Benchmark
+    public List<OrderNoteResponse> noteList(StubCalls stubCalls) {
+        long assets = assetCalls.get();
+        long users = userCalls.get();
+        List<OrderNoteResponse> responses = orderNoteMapper.toResponseList(notes);
+        stubCalls.add(assetCalls.get() - assets, userCalls.get() - users);
+        return responses;
+    }
+
+    /**
+     * Calls made to the stubbed clients during an iteration, reported by JMH next to the primary result. The stubs run
+     * on enrichment threads and user lookups of different benchmark threads share batched calls, so a call cannot be
+     * attributed to one benchmark thread. With more than one thread the counters are reported as NaN rather than
+     * over-counted.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class StubCalls {
+        public double assetServiceCalls;
+        public double userServiceCalls;
+        private boolean singleThreaded;
+
+        @Setup(Level.Trial)
+        public void setUpTrial(BenchmarkParams params) {
+            singleThreaded = params.getThreads() == 1;
+        }
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            assetServiceCalls = singleThreaded ? 0 : Double.NaN;
+            userServiceCalls = singleThreaded ? 0 : Double.NaN;
+        }
+
+        void add(long assetCalls, long userCalls) {
+            assetServiceCalls += assetCalls;
+            userServiceCalls += userCalls;
+        }
+    }
+
+    /**
+     * Rebuild the caching clients on top of the shared executor and batch loader, which own threads and live for the
+     * whole trial.
+     */
+    private void buildMappers() {
+        AssetServiceClientUtil assetServiceClientUtil = new AssetServiceClientUtil(assetServiceClient,
+                enrichmentExecutor, enrichmentMetrics, meterRegistry, true, 10_000,
+                Duration.ofMinutes(30), Duration.ofMinutes(5), Duration.ofSeconds(30));
+        UserServiceClientUtil userServiceClientUtil = new UserServiceClientUtil(userBatchLoader, enrichmentMetrics,
+                meterRegistry, 10_000, Duration.ofMinutes(10), Duration.ofSeconds(30), Duration.ofSeconds(2));
+        orderMapper = new OrderMapper(assetServiceClientUtil, userServiceClientUtil, enrichmentExecutor);
+        orderNoteMapper = new OrderNoteMapper(userServiceClientUtil);
+    }
+}
@@ -0,0 +1,89 @@
+package com.corsairops.maintenance.util;
+
+import com.corsairops.shared.client.AssetServiceClient;
+import com.corsairops.shared.client.UserServiceClient;
+import com.corsairops.shared.dto.User;
+import com.corsairops.shared.dto.asset.AssetResponse;
+import com.corsairops.shared.dto.asset.AssetStatus;
+import com.corsairops.shared.dto.asset.AssetType;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * In-process stand-ins for the Asset and User Service clients with a fixed latency and a random error rate. Failed
+ * calls throw 429 Too Many Requests, which the enrichment code treats like any other client error.
+ */
+final class StubClients {
+    private static final LocalDateTime TIMESTAMP = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    private StubClients() {
+    }
+
+    static AssetServiceClient assetServiceClient(long latencyMicros, double errorRate, AtomicLong calls) {
+        return stub(AssetServiceClient.class, (proxy, method, args) -> switch (method.getName()) {
+            case "getAssetById" -> {
+                simulateCall(latencyMicros, errorRate, calls);
+                UUID id = (UUID) args[0];
+                yield new AssetResponse(id, "Asset " + id, AssetType.GROUND_VEHICLE, AssetStatus.ACTIVE,
+                        0.0, 0.0, TIMESTAMP, TIMESTAMP);
+            }
+            default -> objectMethod(proxy, method.getName(), args);
+        });
+    }
+
+    static UserServiceClient userServiceClient(long latencyMicros, double errorRate, AtomicLong calls) {
+        return stub(UserServiceClient.class, (proxy, method, args) -> switch (method.getName()) {
+            case "getUserById" -> {
+                simulateCall(latencyMicros, errorRate, calls);
+                yield user((String) args[0]);
+            }
+            case "getUsersByIds" -> {
+                simulateCall(latencyMicros, errorRate, calls);
+                yield Arrays.stream(((String) args[0]).split(","))
+                        .map(StubClients::user)
+                        .toList();
+            }
+            default -> objectMethod(proxy, method.getName(), args);
+        });
+    }
+
+    private static User user(String id) {
+        return new User(id, "user-" + id, id + "@corsairops.test", "First", "Last", true, null, List.of("TECHNICIAN"));
+    }
+
+    private static void simulateCall(long latencyMicros, double errorRate, AtomicLong calls) {
+        calls.incrementAndGet();
+        // Park rather than spin, like a thread blocked on an HTTP call
+        long deadline = System.nanoTime() + TimeUnit.MICROSECONDS.toNanos(latencyMicros);
+        for (long remaining = deadline - System.nanoTime(); remaining > 0; remaining = deadline - System.nanoTime()) {
+            LockSupport.parkNanos(remaining);
+        }
+        if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+            throw HttpClientErrorException.create(HttpStatus.TOO_MANY_REQUESTS, "Simulated failure", null, null, null);
+        }
+    }
+
+    private static Object objectMethod(Object proxy, String name, Object[] args) {
+        return switch (name) {
+            case "toString" -> "StubClient";
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "equals" -> proxy == args[0];
+            default -> throw new UnsupportedOperationException(name + " is not stubbed");
+        };
+    }
+
+    private static <T> T stub(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+}
@@ -0,0 +1,38 @@
+package com.corsairops.maintenance.config;
+
+import com.corsairops.maintenance.util.AdmissionControlDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Puts a fair admission limit in front of the connection pool. On by default when request threads are virtual, since
+ * their number is no longer capped by the Tomcat thread pool.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.admission.enabled", havingValue = "true")
+public class DataSourceAdmissionConfig {
+
+    @Bean
+    public static BeanPostProcessor admissionControlDataSourcePostProcessor(Environment environment,
+                                                                           ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof AdmissionControlDataSource)) {
+                    int maxConcurrency = environment.getProperty("datasource.admission.max-concurrency", Integer.class, 10);
+                    Duration timeout = environment.getProperty("datasource.admission.timeout", Duration.class, Duration.ofSeconds(60));
+                    return new AdmissionControlDataSource(dataSource, maxConcurrency, timeout, meterRegistry.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+}
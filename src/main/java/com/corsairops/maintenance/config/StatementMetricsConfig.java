@@ -0,0 +1,50 @@
+package com.corsairops.maintenance.config;
+
+import com.corsairops.maintenance.util.StatementCountFilter;
+import com.corsairops.maintenance.util.StatementCounter;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Wraps the DataSource in a counting proxy and logs statement counts per request. Meant for development and test
+ * environments; enable it with statement-metrics.enabled.
+ */
+@Configuration
+@ConditionalOnProperty(name = "statement-metrics.enabled", havingValue = "true")
+public class StatementMetricsConfig {
+
+    @Bean
+    public StatementCounter statementCounter(@Value("${statement-metrics.slow-query-threshold:200ms}") Duration slowQueryThreshold) {
+        return new StatementCounter(slowQueryThreshold);
+    }
+
+    @Bean
+    public StatementCountFilter statementCountFilter(StatementCounter statementCounter) {
+        return new StatementCountFilter(statementCounter);
+    }
+
+    @Bean
+    public static BeanPostProcessor statementCountingDataSourcePostProcessor(ObjectProvider<StatementCounter> statementCounter) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(statementCounter.getObject())
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -1,9 +1,26 @@
 package com.corsairops.maintenance.controller;
 
+import com.corsairops.maintenance.dto.AssetOrderSummary;
+import com.corsairops.maintenance.dto.BulkOrderItemResult;
+import com.corsairops.maintenance.dto.BulkOrderItemStatus;
+import com.corsairops.maintenance.dto.BulkOrderRequest;
+import com.corsairops.maintenance.dto.BulkOrderResponse;
+import com.corsairops.maintenance.dto.BulkStatusRequest;
+import com.corsairops.maintenance.dto.BulkStatusResponse;
+import com.corsairops.maintenance.dto.ExportFormat;
+import com.corsairops.maintenance.dto.OrderFilter;
 import com.corsairops.maintenance.dto.OrderRequest;
 import com.corsairops.maintenance.dto.OrderResponse;
+import com.corsairops.maintenance.dto.OrderStatsResponse;
 import com.corsairops.maintenance.model.Order;
+import com.corsairops.maintenance.model.OrderPage;
+import com.corsairops.maintenance.model.OrderSort;
+import com.corsairops.maintenance.model.OrderView;
+import com.corsairops.maintenance.service.AssetOrderSummaryService;
+import com.corsairops.maintenance.service.OrderExportService;
 import com.corsairops.maintenance.service.OrderService;
+import com.corsairops.maintenance.service.OrderStatsService;
+import com.corsairops.maintenance.util.ETags;
 import com.corsairops.maintenance.util.OrderMapper;
 import com.corsairops.shared.annotations.CommonReadResponses;
 import com.corsairops.shared.annotations.CommonWriteResponses;
@@ -11,18 +28,30 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Set;
 
 @Tag(name = "Maintenance Orders", description = "APIs for managing maintenance orders")
 @RestController
 @RequestMapping("/api/maintenance/orders")
 @RequiredArgsConstructor
 public class OrderController {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
 
     private final OrderService orderService;
+    private final OrderExportService orderExportService;
+    private final AssetOrderSummaryService assetOrderSummaryService;
+    private final OrderStatsService orderStatsService;
     private final OrderMapper orderMapper;
 
     @Operation(summary = "Create a new maintenance order")
@@ -35,37 +64,128 @@ public class OrderController {
         return orderMapper.toResponse(order);
     }
 
-    @Operation(summary = "Get a list of all maintenance orders. Optionally filter by asset ID")
+    @Operation(summary = "Create many maintenance orders at once",
+            description = "Each order is validated and created independently. The response holds one result per order, in request order.")
+    @CommonWriteResponses
+    @PostMapping("/bulk")
+    @ResponseStatus(HttpStatus.OK)
+    public BulkOrderResponse createOrders(@RequestBody @Valid BulkOrderRequest bulkOrderRequest,
+                                          @RequestHeader(value = "X-User-Id") String userId) {
+        List<BulkOrderItemResult> results = orderService.createOrders(bulkOrderRequest.orders(), userId);
+        int created = (int) results.stream()
+                .filter(result -> result.status() == BulkOrderItemStatus.CREATED)
+                .count();
+        return new BulkOrderResponse(created, results.size() - created, results);
+    }
+
+    @Operation(summary = "Get a page of maintenance orders. Optionally filter by asset, status, priority, dates and users",
+            description = "Pages are ordered newest first, or by priority. When more orders follow, the "
+                    + NEXT_CURSOR_HEADER + " response header holds the cursor for the next page. Send the ETag "
+                    + "of a previous response in If-None-Match to get 304 Not Modified while the page is unchanged.")
     @CommonReadResponses
     @GetMapping
-    @ResponseStatus(HttpStatus.OK)
-    public List<OrderResponse> getAllOrders(@RequestParam(value = "assetId", required = false) String assetId) {
-        List<Order> orders;
-        if (assetId != null && !assetId.isBlank()) {
-            orders = orderService.getAllOrders(assetId);
-        } else {
-            orders = orderService.getAllOrders();
+    public ResponseEntity<List<OrderResponse>> getAllOrders(@ParameterObject OrderFilter filter,
+                                                            @RequestParam(value = "sort", defaultValue = "CREATED_AT") OrderSort sort,
+                                                            @RequestParam(value = "cursor", required = false) String cursor,
+                                                            @RequestParam(value = "limit", required = false) Integer limit,
+                                                            WebRequest webRequest) {
+        OrderPage page = orderService.getOrderPage(filter, sort, cursor, limit);
+        String etag = ETags.forOrders(page.orders(), page.nextCursor());
+        boolean notModified = webRequest.checkNotModified(etag);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(notModified ? HttpStatus.NOT_MODIFIED : HttpStatus.OK)
+                .eTag(etag);
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        // Skip enrichment entirely when the client already has this page.
+        if (notModified) {
+            return response.build();
         }
-        return orderMapper.toResponseList(orders);
+        return response.body(orderMapper.toResponseList(page.orders()));
     }
 
-    @Operation(summary = "Get a maintenance order by ID")
+    @Operation(summary = "Get per-asset maintenance order counts",
+            description = "Returns one summary per asset id with open and in-progress order counts, orders completed "
+                    + "in the last 30 days and the highest open priority. Summaries may be up to a few seconds old.")
     @CommonReadResponses
-    @GetMapping("/{id}")
+    @GetMapping("/summary")
     @ResponseStatus(HttpStatus.OK)
-    public OrderResponse getOrderById(@PathVariable Long id) {
-        Order order = orderService.getOrderById(id);
-        return orderMapper.toResponse(order);
+    public List<AssetOrderSummary> getAssetSummaries(@RequestParam("assetIds") Set<String> assetIds) {
+        return assetOrderSummaryService.getSummaries(assetIds);
+    }
+
+    @Operation(summary = "Get maintenance order counts by status and priority",
+            description = "Counts come from a rollup kept per creation day. Pass from and to to limit the creation days counted.")
+    @CommonReadResponses
+    @GetMapping("/stats")
+    @ResponseStatus(HttpStatus.OK)
+    public OrderStatsResponse getOrderStats(@RequestParam(value = "from", required = false)
+                                            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                            @RequestParam(value = "to", required = false)
+                                            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return orderStatsService.getStats(from, to);
     }
 
-    @Operation(summary = "Update a maintenance order by ID")
+    @Operation(summary = "Export all maintenance orders matching the filters as NDJSON or CSV",
+            description = "Orders are streamed in ID order from a single database snapshot.")
+    @CommonReadResponses
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportOrders(@ParameterObject OrderFilter filter,
+                                                              @RequestParam(value = "format", defaultValue = "NDJSON") ExportFormat format) {
+        return ResponseEntity.ok()
+                .contentType(format.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=maintenance-orders." + format.extension())
+                .body(out -> orderExportService.exportOrders(filter, format, out));
+    }
+
+    @Operation(summary = "Get a maintenance order by ID",
+            description = "Send the ETag of a previous response in If-None-Match to get 304 Not Modified while the order is unchanged.")
+    @CommonReadResponses
+    @GetMapping("/{id}")
+    public ResponseEntity<OrderResponse> getOrderById(@PathVariable Long id, WebRequest webRequest) {
+        OrderView order = orderService.getOrderView(id);
+        String etag = ETags.forOrder(order);
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(orderMapper.toResponse(order));
+    }
+
+    @Operation(summary = "Update a maintenance order by ID",
+            description = "Send the ETag of the order in If-Match to only update it if nobody else has changed it "
+                    + "since; a mismatch returns 412 Precondition Failed.")
     @CommonWriteResponses
     @PutMapping("/{id}")
+    public ResponseEntity<OrderResponse> updateOrder(@PathVariable Long id,
+                                                     @RequestBody @Valid OrderRequest orderRequest,
+                                                     @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long expectedVersion = null;
+        if (ifMatch != null && !ifMatch.trim().equals("*")) {
+            expectedVersion = ETags.parseOrderVersion(ifMatch, id)
+                    .orElseThrow(() -> OrderService.versionMismatch(id));
+        }
+        OrderView order = orderService.updateOrder(id, orderRequest, expectedVersion);
+        return ResponseEntity.ok()
+                .eTag(ETags.forOrder(order))
+                .body(orderMapper.toResponse(order));
+    }
+
+    @Operation(summary = "Complete or cancel many open maintenance orders at once",
+            description = "Selects open orders by ID list, filter, or both, and updates them in a single statement. "
+                    + "Updated orders are only enriched with asset and user details when enrich=true.")
+    @CommonWriteResponses
+    @PatchMapping("/status")
     @ResponseStatus(HttpStatus.OK)
-    public OrderResponse updateOrder(@PathVariable Long id,
-                                     @RequestBody @Valid OrderRequest orderRequest) {
-        Order order = orderService.updateOrder(id, orderRequest);
-        return orderMapper.toResponse(order);
+    public BulkStatusResponse closeOrders(@RequestBody @Valid BulkStatusRequest bulkStatusRequest,
+                                          @RequestParam(value = "enrich", defaultValue = "false") boolean enrich,
+                                          @RequestHeader(value = "X-User-Id") String userId) {
+        List<OrderView> orders = orderService.closeOrders(bulkStatusRequest.ids(), bulkStatusRequest.filter(),
+                bulkStatusRequest.status(), userId);
+        List<Long> orderIds = orders.stream()
+                .map(OrderView::id)
+                .toList();
+        return new BulkStatusResponse(orders.size(), orderIds, enrich ? orderMapper.toResponseList(orders) : null);
     }
 
     @Operation(summary = "Delete a maintenance order by ID")
@@ -0,0 +1,40 @@
+package com.corsairops.maintenance.controller;
+
+import com.corsairops.maintenance.dto.OrderNoteResponse;
+import com.corsairops.maintenance.model.OrderNoteView;
+import com.corsairops.maintenance.service.OrderNoteService;
+import com.corsairops.maintenance.util.OrderNoteMapper;
+import com.corsairops.shared.annotations.CommonReadResponses;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Slf4j
+@Tag(name = "Maintenance Order Notes", description = "APIs for managing notes on maintenance orders")
+@RestController
+@RequestMapping("/api/maintenance/orders/notes")
+@RequiredArgsConstructor
+public class OrderNoteBatchController {
+    private final OrderNoteService orderNoteService;
+    private final OrderNoteMapper orderNoteMapper;
+
+    @Operation(summary = "Get the latest notes for many maintenance orders",
+            description = "Returns up to limit notes per order, newest first, keyed by order id. Orders without "
+                    + "notes, or that do not exist, map to an empty list.")
+    @CommonReadResponses
+    @GetMapping
+    @ResponseStatus(HttpStatus.OK)
+    public Map<Long, List<OrderNoteResponse>> getLatestNotes(@RequestParam("orderIds") Set<Long> orderIds,
+                                                             @RequestParam(value = "limit", required = false) Integer limit) {
+        List<OrderNoteView> notes = orderNoteService.getLatestNotes(orderIds, limit);
+        log.info("Fetched {} notes for {} orders", notes.size(), orderIds.size());
+        return orderNoteMapper.toResponsesByOrder(orderIds, notes);
+    }
+}
@@ -2,8 +2,9 @@ package com.corsairops.maintenance.controller;
 
 import com.corsairops.maintenance.dto.OrderNoteRequest;
 import com.corsairops.maintenance.dto.OrderNoteResponse;
-import com.corsairops.maintenance.model.OrderNote;
+import com.corsairops.maintenance.model.OrderNotePage;
 import com.corsairops.maintenance.service.OrderNoteService;
+import com.corsairops.maintenance.util.ETags;
 import com.corsairops.maintenance.util.OrderNoteMapper;
 import com.corsairops.shared.annotations.CommonReadResponses;
 import com.corsairops.shared.annotations.CommonWriteResponses;
@@ -12,11 +13,17 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
+import static com.corsairops.maintenance.controller.OrderController.NEXT_CURSOR_HEADER;
+
 @Slf4j
 @Tag(name = "Maintenance Order Notes", description = "APIs for managing notes on maintenance orders")
 @RestController
@@ -39,14 +46,34 @@ public class OrderNoteController {
         return orderNoteMapper.toResponse(note);
     }
 
-    @Operation(summary = "Get all notes for a maintenance order")
+    @Operation(summary = "Get notes for a maintenance order",
+            description = "Returns one page of notes, newest first. When more notes are available, the "
+                    + NEXT_CURSOR_HEADER + " response header holds the cursor for the next page. Pass since to "
+                    + "only receive notes created after that time. Send the ETag of a previous response in "
+                    + "If-None-Match to get 304 Not Modified while the page is unchanged.")
     @CommonReadResponses
     @GetMapping
-    @ResponseStatus(HttpStatus.OK)
-    public List<OrderNoteResponse> getNotes(@PathVariable Long orderId) {
-        List<OrderNote> notes = orderNoteService.getAllNotes(orderId);
-        log.info("Fetched {} notes for order with id {}", notes.size(), orderId);
-        return orderNoteMapper.toResponseList(notes);
+    public ResponseEntity<List<OrderNoteResponse>> getNotes(@PathVariable Long orderId,
+                                                            @RequestParam(value = "since", required = false)
+                                                            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+                                                            @RequestParam(value = "cursor", required = false) String cursor,
+                                                            @RequestParam(value = "limit", required = false) Integer limit,
+                                                            WebRequest webRequest) {
+        OrderNotePage page = orderNoteService.getNotePage(orderId, since, cursor, limit);
+        log.info("Fetched {} notes for order with id {}", page.notes().size(), orderId);
+        String etag = ETags.forNotes(page.notes(), page.nextCursor());
+        boolean notModified = webRequest.checkNotModified(etag);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(notModified ? HttpStatus.NOT_MODIFIED : HttpStatus.OK)
+                .eTag(etag);
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        // Skip user enrichment entirely when the client already has this page.
+        if (notModified) {
+            return response.build();
+        }
+        return response.body(orderNoteMapper.toResponseList(page.notes()));
     }
 
     @Operation(summary = "Delete a note from a maintenance order")
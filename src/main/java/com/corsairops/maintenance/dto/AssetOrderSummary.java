@@ -0,0 +1,13 @@
+package com.corsairops.maintenance.dto;
+
+public record AssetOrderSummary(
+        String assetId,
+        long openOrders,
+        long inProgressOrders,
+        long completedLast30Days,
+        Integer highestOpenPriority
+) {
+    public static AssetOrderSummary empty(String assetId) {
+        return new AssetOrderSummary(assetId, 0, 0, 0, null);
+    }
+}
@@ -0,0 +1,10 @@
+package com.corsairops.maintenance.dto;
+
+public record BulkOrderItemResult(
+        int index,
+        String assetId,
+        BulkOrderItemStatus status,
+        Long orderId,
+        String message
+) {
+}
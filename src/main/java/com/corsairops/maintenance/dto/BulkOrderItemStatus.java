@@ -0,0 +1,8 @@
+package com.corsairops.maintenance.dto;
+
+public enum BulkOrderItemStatus {
+    CREATED,
+    ASSET_NOT_FOUND,
+    ASSET_LOOKUP_FAILED,
+    OPEN_ORDER_EXISTS
+}
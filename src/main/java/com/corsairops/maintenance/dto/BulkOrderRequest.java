@@ -0,0 +1,14 @@
+package com.corsairops.maintenance.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record BulkOrderRequest(
+        @NotEmpty(message = "At least one order is required.")
+        @Size(max = 1000, message = "At most 1000 orders can be created at once.")
+        List<@Valid OrderRequest> orders
+) {
+}
@@ -0,0 +1,10 @@
+package com.corsairops.maintenance.dto;
+
+import java.util.List;
+
+public record BulkOrderResponse(
+        int created,
+        int rejected,
+        List<BulkOrderItemResult> results
+) {
+}
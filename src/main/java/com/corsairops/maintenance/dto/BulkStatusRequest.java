@@ -0,0 +1,18 @@
+package com.corsairops.maintenance.dto;
+
+import com.corsairops.maintenance.model.OrderStatus;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record BulkStatusRequest(
+        @Size(max = 1000, message = "At most 1000 order IDs can be given at once.")
+        List<Long> ids,
+
+        OrderFilter filter,
+
+        @NotNull(message = "Order status is required.")
+        OrderStatus status
+) {
+}
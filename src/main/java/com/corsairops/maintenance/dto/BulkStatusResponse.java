@@ -0,0 +1,10 @@
+package com.corsairops.maintenance.dto;
+
+import java.util.List;
+
+public record BulkStatusResponse(
+        int updated,
+        List<Long> orderIds,
+        List<OrderResponse> orders
+) {
+}
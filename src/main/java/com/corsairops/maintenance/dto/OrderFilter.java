@@ -0,0 +1,70 @@
+package com.corsairops.maintenance.dto;
+
+import com.corsairops.maintenance.model.OrderStatus;
+import io.swagger.v3.oas.annotations.Parameter;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+public record OrderFilter(
+        @Parameter(description = "Only orders for this asset")
+        String assetId,
+
+        @Parameter(description = "Only orders in one of these statuses")
+        Set<OrderStatus> status,
+
+        @Parameter(description = "Only orders with at least this priority")
+        Integer minPriority,
+
+        @Parameter(description = "Only orders with at most this priority")
+        Integer maxPriority,
+
+        @Parameter(description = "Only orders created at or after this time")
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+        LocalDateTime createdAfter,
+
+        @Parameter(description = "Only orders created before this time")
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+        LocalDateTime createdBefore,
+
+        @Parameter(description = "Only orders updated at or after this time")
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+        LocalDateTime updatedAfter,
+
+        @Parameter(description = "Only orders updated before this time")
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+        LocalDateTime updatedBefore,
+
+        @Parameter(description = "Only orders placed by this user")
+        String placedBy,
+
+        @Parameter(description = "Only orders completed by this user")
+        String completedBy
+) {
+    public static OrderFilter none() {
+        return new OrderFilter(null, null, null, null, null, null, null, null, null, null);
+    }
+
+    public static OrderFilter byAssetId(String assetId) {
+        return new OrderFilter(assetId, null, null, null, null, null, null, null, null, null);
+    }
+
+    /**
+     * Whether the filter narrows the orders at all. Blank strings and empty status sets count as absent, matching
+     * the conditions OrderQueryRepository builds from the filter.
+     */
+    public boolean hasCriteria() {
+        return StringUtils.hasText(assetId)
+                || (status != null && !status.isEmpty())
+                || minPriority != null
+                || maxPriority != null
+                || createdAfter != null
+                || createdBefore != null
+                || updatedAfter != null
+                || updatedBefore != null
+                || StringUtils.hasText(placedBy)
+                || StringUtils.hasText(completedBy);
+    }
+}
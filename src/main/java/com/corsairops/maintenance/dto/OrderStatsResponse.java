@@ -0,0 +1,12 @@
+package com.corsairops.maintenance.dto;
+
+import com.corsairops.maintenance.model.OrderStatus;
+
+import java.util.Map;
+
+public record OrderStatsResponse(
+        long total,
+        Map<OrderStatus, Long> byStatus,
+        Map<Integer, Long> byPriority
+) {
+}
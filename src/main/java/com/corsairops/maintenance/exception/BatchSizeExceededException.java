@@ -0,0 +1,10 @@
+package com.corsairops.maintenance.exception;
+
+import com.corsairops.shared.exception.HttpResponseException;
+import org.springframework.http.HttpStatus;
+
+public class BatchSizeExceededException extends HttpResponseException {
+    public BatchSizeExceededException(String message, HttpStatus status) {
+        super(message, status);
+    }
+}
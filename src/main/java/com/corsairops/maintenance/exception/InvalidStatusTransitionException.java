@@ -0,0 +1,10 @@
+package com.corsairops.maintenance.exception;
+
+import com.corsairops.shared.exception.HttpResponseException;
+import org.springframework.http.HttpStatus;
+
+public class InvalidStatusTransitionException extends HttpResponseException {
+    public InvalidStatusTransitionException(String message, HttpStatus status) {
+        super(message, status);
+    }
+}
@@ -0,0 +1,10 @@
+package com.corsairops.maintenance.exception;
+
+import com.corsairops.shared.exception.HttpResponseException;
+import org.springframework.http.HttpStatus;
+
+public class OrderVersionMismatchException extends HttpResponseException {
+    public OrderVersionMismatchException(String message, HttpStatus status) {
+        super(message, status);
+    }
+}
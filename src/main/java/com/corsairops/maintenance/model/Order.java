@@ -19,7 +19,9 @@ import java.util.List;
 @AllArgsConstructor @NoArgsConstructor @Builder
 public class Order {
 
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "maintenance_orders_id_seq")
+    @SequenceGenerator(name = "maintenance_orders_id_seq", sequenceName = "maintenance_orders_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -45,6 +47,9 @@ public class Order {
     @LastModifiedDate
     private LocalDateTime updatedAt;
 
+    @Version
+    private Long version;
+
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     private List<OrderNote> notes;
 
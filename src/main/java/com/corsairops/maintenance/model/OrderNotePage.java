@@ -0,0 +1,9 @@
+package com.corsairops.maintenance.model;
+
+import java.util.List;
+
+public record OrderNotePage(
+        List<OrderNoteView> notes,
+        String nextCursor
+) {
+}
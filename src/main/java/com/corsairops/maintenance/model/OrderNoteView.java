@@ -0,0 +1,24 @@
+package com.corsairops.maintenance.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only view of an order note, mapped straight from query rows.
+ */
+public record OrderNoteView(
+        Long id,
+        Long orderId,
+        String note,
+        String createdBy,
+        LocalDateTime createdAt
+) {
+    public static OrderNoteView from(OrderNote note) {
+        return new OrderNoteView(
+                note.getId(),
+                note.getOrder().getId(),
+                note.getNote(),
+                note.getCreatedBy(),
+                note.getCreatedAt()
+        );
+    }
+}
@@ -0,0 +1,35 @@
+package com.corsairops.maintenance.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Keyset orderings for order listings. Both sort descending on their column, with the order id as tie-breaker.
+ */
+public enum OrderSort {
+    CREATED_AT("created_at"),
+    PRIORITY("priority");
+
+    private final String column;
+
+    OrderSort(String column) {
+        this.column = column;
+    }
+
+    public String column() {
+        return column;
+    }
+
+    public String cursorValue(OrderView order) {
+        return switch (this) {
+            case CREATED_AT -> order.createdAt().toString();
+            case PRIORITY -> order.priority().toString();
+        };
+    }
+
+    public Object parseCursorValue(String value) {
+        return switch (this) {
+            case CREATED_AT -> LocalDateTime.parse(value);
+            case PRIORITY -> Integer.valueOf(value);
+        };
+    }
+}
@@ -0,0 +1,35 @@
+package com.corsairops.maintenance.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only view of a maintenance order. Read paths map query rows straight into it, skipping entity hydration,
+ * dirty-checking snapshots and persistence context bookkeeping.
+ */
+public record OrderView(
+        Long id,
+        String assetId,
+        String description,
+        OrderStatus status,
+        Integer priority,
+        String placedBy,
+        String completedBy,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        Long version
+) {
+    public static OrderView from(Order order) {
+        return new OrderView(
+                order.getId(),
+                order.getAssetId(),
+                order.getDescription(),
+                order.getStatus(),
+                order.getPriority(),
+                order.getPlacedBy(),
+                order.getCompletedBy(),
+                order.getCreatedAt(),
+                order.getUpdatedAt(),
+                order.getVersion()
+        );
+    }
+}
@@ -0,0 +1,95 @@
+package com.corsairops.maintenance.repository;
+
+import com.corsairops.maintenance.model.OrderNoteView;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Read-side queries for order notes, mapped straight into {@link OrderNoteView}.
+ */
+@Repository
+@Timed("maintenance.repository.invocations")
+@RequiredArgsConstructor
+public class OrderNoteQueryRepository {
+    private static final String NOTE_COLUMNS = "id, order_id, note, created_by, created_at";
+
+    static final RowMapper<OrderNoteView> NOTE_VIEW_ROW_MAPPER = (rs, rowNum) -> new OrderNoteView(
+            rs.getLong("id"),
+            rs.getLong("order_id"),
+            rs.getString("note"),
+            rs.getString("created_by"),
+            rs.getObject("created_at", LocalDateTime.class)
+    );
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Fetch one page of notes of an order, newest first. The row comparison on {@code (created_at, id)} seeks
+     * straight into the {@code (order_id, created_at DESC, id DESC)} index, so deep pages cost the same as the first.
+     *
+     * @param orderId        the order id
+     * @param since          only return notes created strictly after this time, or null for all notes
+     * @param afterCreatedAt the created_at of the last note of the previous page, or null for the first page
+     * @param afterId        the id of the last note of the previous page, or null for the first page
+     * @param limit          the maximum number of rows to return
+     * @return the notes of the page
+     */
+    public List<OrderNoteView> findPage(Long orderId, LocalDateTime since, LocalDateTime afterCreatedAt, Long afterId, int limit) {
+        List<String> conditions = new ArrayList<>();
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("orderId", orderId)
+                .addValue("limit", limit);
+        conditions.add("order_id = :orderId");
+
+        if (since != null) {
+            conditions.add("created_at > :since");
+            params.addValue("since", since);
+        }
+        if (afterCreatedAt != null && afterId != null) {
+            conditions.add("(created_at, id) < (:afterCreatedAt, :afterId)");
+            params.addValue("afterCreatedAt", afterCreatedAt);
+            params.addValue("afterId", afterId);
+        }
+
+        String sql = "SELECT " + NOTE_COLUMNS + " FROM maintenance_order_notes"
+                + " WHERE " + String.join(" AND ", conditions)
+                + " ORDER BY created_at DESC, id DESC"
+                + " LIMIT :limit";
+        return jdbcTemplate.query(sql, params, NOTE_VIEW_ROW_MAPPER);
+    }
+
+    /**
+     * Fetch the newest notes of each of the given orders in a single query. Each order runs a lateral top-N probe of
+     * the {@code (order_id, created_at DESC, id DESC)} index, so orders with thousands of notes only read the rows
+     * that are returned.
+     *
+     * @param orderIds the order ids
+     * @param limit    the maximum number of notes per order
+     * @return the notes, grouped by order id and newest first within each order
+     */
+    public List<OrderNoteView> findLatestByOrderIds(Collection<Long> orderIds, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("orderIds", orderIds)
+                .addValue("limit", limit);
+
+        String sql = "SELECT n.id, n.order_id, n.note, n.created_by, n.created_at"
+                + " FROM maintenance_orders o"
+                + " CROSS JOIN LATERAL ("
+                + "SELECT " + NOTE_COLUMNS + " FROM maintenance_order_notes"
+                + " WHERE order_id = o.id"
+                + " ORDER BY created_at DESC, id DESC"
+                + " LIMIT :limit) n"
+                + " WHERE o.id IN (:orderIds)"
+                + " ORDER BY n.order_id, n.created_at DESC, n.id DESC";
+        return jdbcTemplate.query(sql, params, NOTE_VIEW_ROW_MAPPER);
+    }
+}
@@ -1,15 +1,15 @@
 package com.corsairops.maintenance.repository;
 
-import com.corsairops.maintenance.model.Order;
 import com.corsairops.maintenance.model.OrderNote;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.util.List;
-
 @Repository
 public interface OrderNoteRepository extends JpaRepository<OrderNote, Long> {
-    List<OrderNote> findByOrderOrderByCreatedAtDesc(Order order);
-
-    boolean existsByIdAndOrder(Long attr0, Order order);
+    @Modifying
+    @Query("delete from OrderNote n where n.id = :noteId and n.order.id = :orderId")
+    int deleteByIdAndOrderId(@Param("noteId") Long noteId, @Param("orderId") Long orderId);
 }
\ No newline at end of file
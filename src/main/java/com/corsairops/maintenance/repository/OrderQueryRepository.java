@@ -0,0 +1,296 @@
+package com.corsairops.maintenance.repository;
+
+import com.corsairops.maintenance.dto.AssetOrderSummary;
+import com.corsairops.maintenance.dto.OrderFilter;
+import com.corsairops.maintenance.model.OrderSort;
+import com.corsairops.maintenance.model.OrderStatus;
+import com.corsairops.maintenance.model.OrderView;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Read queries over maintenance orders that Spring Data derived queries cannot express efficiently, written as
+ * plain SQL so that they line up with the indexes that support them.
+ */
+@Repository
+@Timed("maintenance.repository.invocations")
+public class OrderQueryRepository {
+    private static final List<String> OPEN_STATUSES = List.of(OrderStatus.PENDING.name(), OrderStatus.IN_PROGRESS.name());
+    private static final String ORDER_COLUMNS =
+            "id, asset_id, description, status, priority, placed_by, completed_by, created_at, updated_at, version";
+    private static final String QUALIFIED_ORDER_COLUMNS =
+            "o.id, o.asset_id, o.description, o.status, o.priority, o.placed_by, o.completed_by, o.created_at, o.updated_at, o.version";
+
+    static final RowMapper<OrderView> ORDER_VIEW_ROW_MAPPER = (rs, rowNum) -> new OrderView(
+            rs.getLong("id"),
+            rs.getString("asset_id"),
+            rs.getString("description"),
+            OrderStatus.valueOf(rs.getString("status")),
+            rs.getInt("priority"),
+            rs.getString("placed_by"),
+            rs.getString("completed_by"),
+            rs.getObject("created_at", LocalDateTime.class),
+            rs.getObject("updated_at", LocalDateTime.class),
+            rs.getLong("version")
+    );
+
+    private static final RowMapper<OrderChange> ORDER_CHANGE_ROW_MAPPER = (rs, rowNum) -> new OrderChange(
+            ORDER_VIEW_ROW_MAPPER.mapRow(rs, rowNum),
+            OrderStatus.valueOf(rs.getString("previous_status")),
+            rs.getInt("previous_priority")
+    );
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate streamingJdbcTemplate;
+
+    public OrderQueryRepository(NamedParameterJdbcTemplate jdbcTemplate,
+                                @Value("${orders.export.fetch-size:1000}") int streamingFetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        JdbcTemplate streamingTemplate = new JdbcTemplate(jdbcTemplate.getJdbcTemplate().getDataSource());
+        streamingTemplate.setFetchSize(streamingFetchSize);
+        this.streamingJdbcTemplate = new NamedParameterJdbcTemplate(streamingTemplate);
+    }
+
+    public Optional<OrderView> findViewById(Long id) {
+        String sql = "SELECT " + ORDER_COLUMNS + " FROM maintenance_orders WHERE id = :id";
+        return jdbcTemplate.query(sql, new MapSqlParameterSource("id", id), ORDER_VIEW_ROW_MAPPER)
+                .stream()
+                .findFirst();
+    }
+
+    /**
+     * Fetch one page of orders matching the filter, in keyset order. All filter criteria are combined into a single
+     * query. The row comparison on {@code (sort column, id)} lets Postgres seek straight to the page in the
+     * matching index instead of skipping rows as an offset would.
+     *
+     * @param filter      the criteria the orders must match
+     * @param sort        the ordering
+     * @param afterValue  the sort column value of the last row of the previous page, or {@code null} for the first page
+     * @param afterId     the id of the last row of the previous page, or {@code null} for the first page
+     * @param limit       the maximum number of rows to return
+     * @return the orders of the page
+     */
+    public List<OrderView> findPage(OrderFilter filter, OrderSort sort, Object afterValue, Long afterId, int limit) {
+        List<String> conditions = new ArrayList<>();
+        MapSqlParameterSource params = new MapSqlParameterSource("limit", limit);
+
+        addFilterConditions(filter, conditions, params);
+        if (afterId != null) {
+            conditions.add("(" + sort.column() + ", id) < (:afterValue, :afterId)");
+            params.addValue("afterValue", afterValue);
+            params.addValue("afterId", afterId);
+        }
+
+        String sql = "SELECT " + ORDER_COLUMNS + " FROM maintenance_orders"
+                + whereClause(conditions)
+                + " ORDER BY " + sort.column() + " DESC, id DESC"
+                + " LIMIT :limit";
+        return jdbcTemplate.query(sql, params, ORDER_VIEW_ROW_MAPPER);
+    }
+
+    /**
+     * Stream every order matching the filter, in id order, to the consumer. Must be called inside a transaction:
+     * only then does the Postgres driver read through a server-side cursor, holding at most
+     * {@code orders.export.fetch-size} rows in memory at a time.
+     *
+     * @param filter   the criteria the orders must match
+     * @param consumer receives each order as it is read
+     */
+    public void streamOrders(OrderFilter filter, Consumer<OrderView> consumer) {
+        List<String> conditions = new ArrayList<>();
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        addFilterConditions(filter, conditions, params);
+
+        String sql = "SELECT " + ORDER_COLUMNS + " FROM maintenance_orders"
+                + whereClause(conditions)
+                + " ORDER BY id";
+        streamingJdbcTemplate.query(sql, params, rs -> {
+            consumer.accept(ORDER_VIEW_ROW_MAPPER.mapRow(rs, rs.getRow()));
+        });
+    }
+
+    /**
+     * Close every open order that has one of the given ids and matches the filter, in a single set-based
+     * statement. Orders that are not PENDING or IN_PROGRESS are left untouched. The rows are locked and read in a
+     * subquery first, so the status each order had before closing comes back with it.
+     *
+     * @param ids         the order ids to close, or an empty list to select by filter only
+     * @param filter      the criteria the orders must match
+     * @param status      the closing status
+     * @param completedBy the user closing the orders
+     * @param updatedAt   the update timestamp to record
+     * @return the updated orders with their previous state
+     */
+    public List<OrderChange> closeOrders(List<Long> ids, OrderFilter filter, OrderStatus status, String completedBy, LocalDateTime updatedAt) {
+        List<String> conditions = new ArrayList<>();
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("status", status.name())
+                .addValue("completedBy", completedBy)
+                .addValue("updatedAt", updatedAt)
+                .addValue("openStatuses", OPEN_STATUSES);
+
+        conditions.add("status IN (:openStatuses)");
+        if (!ids.isEmpty()) {
+            conditions.add("id IN (:ids)");
+            params.addValue("ids", ids);
+        }
+        addFilterConditions(filter, conditions, params);
+
+        String sql = "UPDATE maintenance_orders o"
+                + " SET status = :status, completed_by = :completedBy, updated_at = :updatedAt, version = o.version + 1"
+                + " FROM (SELECT id, status, priority FROM maintenance_orders"
+                + whereClause(conditions)
+                + " FOR UPDATE) previous"
+                + " WHERE o.id = previous.id"
+                + " RETURNING " + QUALIFIED_ORDER_COLUMNS + ", previous.status AS previous_status, previous.priority AS previous_priority";
+        return jdbcTemplate.query(sql, params, ORDER_CHANGE_ROW_MAPPER);
+    }
+
+    /**
+     * Update the editable fields of an order with a single conditional statement. When an expected version is given,
+     * the row is only updated if it still has that version; either way the version is incremented.
+     *
+     * @param id              the order id
+     * @param description     the new description
+     * @param status          the new status
+     * @param priority        the new priority
+     * @param expectedVersion the version the caller last saw, or null to update unconditionally
+     * @param updatedAt       the update timestamp to record
+     * @return the updated order with its previous state, or empty if the order does not exist or has another version
+     */
+    public Optional<OrderChange> updateOrder(Long id, String description, OrderStatus status, int priority,
+                                             Long expectedVersion, LocalDateTime updatedAt) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("id", id)
+                .addValue("description", description)
+                .addValue("status", status.name())
+                .addValue("priority", priority)
+                .addValue("updatedAt", updatedAt);
+
+        String versionCondition = "";
+        if (expectedVersion != null) {
+            versionCondition = " AND version = :expectedVersion";
+            params.addValue("expectedVersion", expectedVersion);
+        }
+
+        String sql = "UPDATE maintenance_orders o"
+                + " SET description = :description, status = :status, priority = :priority,"
+                + " updated_at = :updatedAt, version = o.version + 1"
+                + " FROM (SELECT id, status, priority FROM maintenance_orders"
+                + " WHERE id = :id" + versionCondition
+                + " FOR UPDATE) previous"
+                + " WHERE o.id = previous.id"
+                + " RETURNING " + QUALIFIED_ORDER_COLUMNS + ", previous.status AS previous_status, previous.priority AS previous_priority";
+        return jdbcTemplate.query(sql, params, ORDER_CHANGE_ROW_MAPPER)
+                .stream()
+                .findFirst();
+    }
+
+    /**
+     * Delete an order with a single statement. Its notes go with it through the cascading foreign key.
+     *
+     * @param id the order id
+     * @return the deleted order, or empty if it did not exist
+     */
+    public Optional<OrderView> deleteOrder(Long id) {
+        String sql = "DELETE FROM maintenance_orders WHERE id = :id RETURNING " + ORDER_COLUMNS;
+        return jdbcTemplate.query(sql, new MapSqlParameterSource("id", id), ORDER_VIEW_ROW_MAPPER)
+                .stream()
+                .findFirst();
+    }
+
+    /**
+     * Summarize the orders of each given asset in one pass. Every figure is a FILTER aggregate over the same rows,
+     * and the {@code (asset_id, status) INCLUDE (priority, updated_at)} index lets Postgres answer it with an
+     * index-only scan. Assets without orders are absent from the result.
+     *
+     * @param assetIds       the asset ids
+     * @param completedSince the start of the window for recently completed orders
+     * @return the summaries of the assets that have orders
+     */
+    public List<AssetOrderSummary> summarizeByAssetIds(Collection<String> assetIds, LocalDateTime completedSince) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("assetIds", assetIds)
+                .addValue("openStatuses", OPEN_STATUSES)
+                .addValue("completedSince", completedSince);
+
+        String sql = "SELECT asset_id,"
+                + " count(*) FILTER (WHERE status IN (:openStatuses)) AS open_orders,"
+                + " count(*) FILTER (WHERE status = 'IN_PROGRESS') AS in_progress_orders,"
+                + " count(*) FILTER (WHERE status = 'COMPLETED' AND updated_at >= :completedSince) AS completed_recently,"
+                + " max(priority) FILTER (WHERE status IN (:openStatuses)) AS highest_open_priority"
+                + " FROM maintenance_orders"
+                + " WHERE asset_id IN (:assetIds)"
+                + " GROUP BY asset_id";
+        return jdbcTemplate.query(sql, params, (rs, rowNum) -> new AssetOrderSummary(
+                rs.getString("asset_id"),
+                rs.getLong("open_orders"),
+                rs.getLong("in_progress_orders"),
+                rs.getLong("completed_recently"),
+                rs.getObject("highest_open_priority", Integer.class)
+        ));
+    }
+
+    private static String whereClause(List<String> conditions) {
+        return conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+    }
+
+    private static void addFilterConditions(OrderFilter filter, List<String> conditions, MapSqlParameterSource params) {
+        if (StringUtils.hasText(filter.assetId())) {
+            conditions.add("asset_id = :assetId");
+            params.addValue("assetId", filter.assetId());
+        }
+        if (filter.status() != null && !filter.status().isEmpty()) {
+            conditions.add("status IN (:statuses)");
+            params.addValue("statuses", filter.status().stream().map(Enum::name).toList());
+        }
+        if (filter.minPriority() != null) {
+            conditions.add("priority >= :minPriority");
+            params.addValue("minPriority", filter.minPriority());
+        }
+        if (filter.maxPriority() != null) {
+            conditions.add("priority <= :maxPriority");
+            params.addValue("maxPriority", filter.maxPriority());
+        }
+        if (filter.createdAfter() != null) {
+            conditions.add("created_at >= :createdAfter");
+            params.addValue("createdAfter", filter.createdAfter());
+        }
+        if (filter.createdBefore() != null) {
+            conditions.add("created_at < :createdBefore");
+            params.addValue("createdBefore", filter.createdBefore());
+        }
+        if (filter.updatedAfter() != null) {
+            conditions.add("updated_at >= :updatedAfter");
+            params.addValue("updatedAfter", filter.updatedAfter());
+        }
+        if (filter.updatedBefore() != null) {
+            conditions.add("updated_at < :updatedBefore");
+            params.addValue("updatedBefore", filter.updatedBefore());
+        }
+        if (StringUtils.hasText(filter.placedBy())) {
+            conditions.add("placed_by = :placedBy");
+            params.addValue("placedBy", filter.placedBy());
+        }
+        if (StringUtils.hasText(filter.completedBy())) {
+            conditions.add("completed_by = :completedBy");
+            params.addValue("completedBy", filter.completedBy());
+        }
+    }
+
+    public record OrderChange(OrderView order, OrderStatus previousStatus, int previousPriority) {
+    }
+}
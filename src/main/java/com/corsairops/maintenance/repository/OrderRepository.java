@@ -3,13 +3,14 @@ package com.corsairops.maintenance.repository;
 import com.corsairops.maintenance.model.Order;
 import com.corsairops.maintenance.model.OrderStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
-import java.util.List;
+import java.util.Collection;
+import java.util.Set;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
-    boolean existsByAssetIdAndStatusIn(String assetId, List<OrderStatus> orderStatusList);
-
-    List<Order> findByAssetId(String assetId);
+    @Query("select distinct o.assetId from Order o where o.assetId in :assetIds and o.status in :statuses")
+    Set<String> findAssetIdsWithStatusIn(Collection<String> assetIds, Collection<OrderStatus> statuses);
 }
\ No newline at end of file
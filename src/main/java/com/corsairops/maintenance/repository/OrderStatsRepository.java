@@ -0,0 +1,99 @@
+package com.corsairops.maintenance.repository;
+
+import com.corsairops.maintenance.model.OrderStatus;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Access to the {@code maintenance_order_stats} rollup, which holds the number of orders per creation day, status
+ * and priority.
+ */
+@Repository
+@Timed("maintenance.repository.invocations")
+@RequiredArgsConstructor
+public class OrderStatsRepository {
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Add the given deltas to their rollup rows, creating rows that do not exist yet. Callers pass the deltas in a
+     * stable key order so that concurrent transactions lock rows in the same order.
+     *
+     * @param deltas the count changes to apply
+     */
+    public void applyDeltas(List<StatsDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        String sql = "INSERT INTO maintenance_order_stats (day, status, priority, order_count)"
+                + " VALUES (:day, :status, :priority, :delta)"
+                + " ON CONFLICT (day, status, priority)"
+                + " DO UPDATE SET order_count = maintenance_order_stats.order_count + EXCLUDED.order_count";
+        SqlParameterSource[] batch = deltas.stream()
+                .map(delta -> new MapSqlParameterSource()
+                        .addValue("day", delta.day())
+                        .addValue("status", delta.status().name())
+                        .addValue("priority", delta.priority())
+                        .addValue("delta", delta.delta()))
+                .toArray(SqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate(sql, batch);
+    }
+
+    /**
+     * Sum the rollup per status and priority over a range of creation days.
+     *
+     * @param from the first day, inclusive, or null for no lower bound
+     * @param to   the last day, inclusive, or null for no upper bound
+     * @return one count per status and priority
+     */
+    public List<StatsCount> findCounts(LocalDate from, LocalDate to) {
+        List<String> conditions = new ArrayList<>();
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        if (from != null) {
+            conditions.add("day >= :from");
+            params.addValue("from", from);
+        }
+        if (to != null) {
+            conditions.add("day <= :to");
+            params.addValue("to", to);
+        }
+
+        String sql = "SELECT status, priority, sum(order_count) AS order_count FROM maintenance_order_stats"
+                + (conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions))
+                + " GROUP BY status, priority";
+        return jdbcTemplate.query(sql, params, (rs, rowNum) -> new StatsCount(
+                OrderStatus.valueOf(rs.getString("status")),
+                rs.getInt("priority"),
+                rs.getLong("order_count")
+        ));
+    }
+
+    /**
+     * Rebuild the rollup from {@code maintenance_orders}. The table lock makes writers that touch the rollup wait
+     * until the rebuild commits, so their deltas are applied on top of a count that already excludes them.
+     *
+     * @return the number of rollup rows written
+     */
+    public int rebuild() {
+        jdbcTemplate.getJdbcTemplate().execute("LOCK TABLE maintenance_order_stats IN EXCLUSIVE MODE");
+        jdbcTemplate.getJdbcTemplate().update("DELETE FROM maintenance_order_stats");
+        return jdbcTemplate.getJdbcTemplate().update("INSERT INTO maintenance_order_stats (day, status, priority, order_count)"
+                + " SELECT CAST(created_at AS DATE), status, priority, count(*)"
+                + " FROM maintenance_orders"
+                + " GROUP BY CAST(created_at AS DATE), status, priority");
+    }
+
+    public record StatsDelta(LocalDate day, OrderStatus status, int priority, long delta) {
+    }
+
+    public record StatsCount(OrderStatus status, int priority, long count) {
+    }
+}
@@ -0,0 +1,74 @@
+package com.corsairops.maintenance.service;
+
+import com.corsairops.maintenance.dto.AssetOrderSummary;
+import com.corsairops.maintenance.exception.BatchSizeExceededException;
+import com.corsairops.maintenance.repository.OrderQueryRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Per-asset order counts for the asset service UI. Summaries are computed with one aggregate query for all assets
+ * that are not cached, and kept for a short time since the UI polls them.
+ */
+@Service
+public class AssetOrderSummaryService {
+    private static final Duration COMPLETED_WINDOW = Duration.ofDays(30);
+
+    private final OrderQueryRepository orderQueryRepository;
+    private final Cache<String, AssetOrderSummary> summaryCache;
+    private final int maxAssets;
+
+    public AssetOrderSummaryService(OrderQueryRepository orderQueryRepository,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${asset-summary-cache.maximum-size:10000}") long maximumSize,
+                                    @Value("${asset-summary-cache.expire-after-write:15s}") Duration expireAfterWrite,
+                                    @Value("${orders.summary.max-assets:200}") int maxAssets) {
+        this.orderQueryRepository = orderQueryRepository;
+        this.maxAssets = maxAssets;
+        this.summaryCache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, summaryCache, "asset-order-summaries");
+    }
+
+    /**
+     * Get the order summary of each given asset. Assets without orders get an all-zero summary.
+     *
+     * @param assetIds the asset ids, at most orders.summary.max-assets
+     * @return one summary per asset id, in request order
+     */
+    public List<AssetOrderSummary> getSummaries(Set<String> assetIds) {
+        if (assetIds.size() > maxAssets) {
+            throw new BatchSizeExceededException("At most " + maxAssets + " asset IDs can be given at once.", HttpStatus.BAD_REQUEST);
+        }
+
+        Map<String, AssetOrderSummary> summaries = new HashMap<>(summaryCache.getAllPresent(assetIds));
+        Set<String> missingIds = new HashSet<>(assetIds);
+        missingIds.removeAll(summaries.keySet());
+
+        if (!missingIds.isEmpty()) {
+            LocalDateTime completedSince = LocalDateTime.now().minus(COMPLETED_WINDOW);
+            orderQueryRepository.summarizeByAssetIds(missingIds, completedSince)
+                    .forEach(summary -> summaries.put(summary.assetId(), summary));
+            for (String assetId : missingIds) {
+                AssetOrderSummary summary = summaries.computeIfAbsent(assetId, AssetOrderSummary::empty);
+                summaryCache.put(assetId, summary);
+            }
+        }
+
+        return assetIds.stream()
+                .map(summaries::get)
+                .toList();
+    }
+}
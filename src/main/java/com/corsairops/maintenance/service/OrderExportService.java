@@ -0,0 +1,143 @@
+package com.corsairops.maintenance.service;
+
+import com.corsairops.maintenance.dto.ExportFormat;
+import com.corsairops.maintenance.dto.OrderFilter;
+import com.corsairops.maintenance.dto.OrderResponse;
+import com.corsairops.maintenance.model.OrderView;
+import com.corsairops.maintenance.repository.OrderQueryRepository;
+import com.corsairops.maintenance.util.OrderMapper;
+import com.corsairops.shared.dto.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderExportService {
+    private static final String CSV_HEADER =
+            "id,asset_id,asset_name,description,status,priority,placed_by,completed_by,created_at,updated_at\n";
+
+    private final OrderQueryRepository orderQueryRepository;
+    private final OrderMapper orderMapper;
+    private final ObjectMapper objectMapper;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${orders.export.chunk-size:500}")
+    private int chunkSize;
+
+    /**
+     * Stream every order matching the filter to the output stream. Rows are read through a server-side cursor
+     * inside one repeatable-read transaction, so the export reflects a single snapshot. They are enriched and
+     * written in chunks of orders.export.chunk-size, which keeps heap use flat however many orders there are.
+     *
+     * @param filter the criteria the orders must match
+     * @param format the output format
+     * @param out    the stream to write to
+     */
+    public void exportOrders(OrderFilter filter, ExportFormat format, OutputStream out) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (format == ExportFormat.CSV) {
+                write(out, CSV_HEADER.getBytes(StandardCharsets.UTF_8));
+            }
+
+            List<OrderView> chunk = new ArrayList<>(chunkSize);
+            long[] exported = {0};
+            orderQueryRepository.streamOrders(filter, order -> {
+                chunk.add(order);
+                if (chunk.size() == chunkSize) {
+                    exported[0] += writeChunk(chunk, format, out);
+                }
+            });
+            exported[0] += writeChunk(chunk, format, out);
+            log.info("Exported {} orders as {}", exported[0], format);
+        });
+    }
+
+    private int writeChunk(List<OrderView> chunk, ExportFormat format, OutputStream out) {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+
+        List<OrderResponse> responses = orderMapper.toResponseList(chunk);
+        for (OrderResponse response : responses) {
+            write(out, format == ExportFormat.CSV ? toCsvRow(response) : toJsonLine(response));
+        }
+        try {
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        int written = chunk.size();
+        chunk.clear();
+        return written;
+    }
+
+    private byte[] toJsonLine(OrderResponse response) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(response);
+            byte[] line = new byte[json.length + 1];
+            System.arraycopy(json, 0, line, 0, json.length);
+            line[json.length] = '\n';
+            return line;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] toCsvRow(OrderResponse response) {
+        String row = String.join(",",
+                String.valueOf(response.id()),
+                csvField(response.asset() != null ? String.valueOf(response.asset().id()) : null),
+                csvField(response.asset() != null ? response.asset().name() : null),
+                csvField(response.description()),
+                csvField(response.status().name()),
+                String.valueOf(response.priority()),
+                csvField(userId(response.placedBy())),
+                csvField(userId(response.completedBy())),
+                csvField(Objects.toString(response.createdAt(), null)),
+                csvField(Objects.toString(response.updatedAt(), null))
+        ) + "\n";
+        return row.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String userId(User user) {
+        return user != null ? user.id() : null;
+    }
+
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+
+    private static void write(OutputStream out, byte[] bytes) {
+        try {
+            out.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
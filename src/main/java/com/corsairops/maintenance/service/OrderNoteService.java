@@ -1,46 +1,153 @@
 package com.corsairops.maintenance.service;
 
 import com.corsairops.maintenance.dto.OrderNoteRequest;
+import com.corsairops.maintenance.exception.BatchSizeExceededException;
+import com.corsairops.maintenance.exception.OrderNotFoundException;
 import com.corsairops.maintenance.exception.OrderNoteNotFoundException;
 import com.corsairops.maintenance.model.OrderNote;
+import com.corsairops.maintenance.model.OrderNotePage;
+import com.corsairops.maintenance.model.OrderNoteView;
+import com.corsairops.maintenance.repository.OrderNoteQueryRepository;
 import com.corsairops.maintenance.repository.OrderNoteRepository;
+import com.corsairops.maintenance.repository.OrderRepository;
+import com.corsairops.maintenance.util.ConstraintViolations;
+import com.corsairops.maintenance.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 public class OrderNoteService {
+    private static final String NOTE_CURSOR_SORT = "NOTE_CREATED_AT";
+    private static final String ORDER_FOREIGN_KEY = "maintenance_order_notes_order_id_fkey";
+
     private final OrderNoteRepository orderNoteRepository;
-    private final OrderService orderService;
+    private final OrderNoteQueryRepository orderNoteQueryRepository;
+    private final OrderRepository orderRepository;
+
+    @Value("${notes.page.default-size:50}")
+    private int defaultPageSize;
+
+    @Value("${notes.page.max-size:200}")
+    private int maxPageSize;
 
+    @Value("${notes.batch.default-limit:5}")
+    private int defaultBatchLimit;
+
+    @Value("${notes.batch.max-orders:200}")
+    private int maxBatchOrders;
+
+    /**
+     * Add a note to an order. The note only references the order by id; a missing order surfaces as a violation of
+     * the order foreign key on insert, so no order row is read up front.
+     */
     @Transactional
     public OrderNote addNote(Long orderId, OrderNoteRequest request, String createdBy) {
-        var order = orderService.getOrderById(orderId);
-
         var note = OrderNote.builder()
-                .order(order)
+                .order(orderRepository.getReferenceById(orderId))
                 .note(request.note())
                 .createdBy(createdBy)
                 .build();
-        return orderNoteRepository.save(note);
+        try {
+            return orderNoteRepository.saveAndFlush(note);
+        } catch (DataIntegrityViolationException e) {
+            if (ConstraintViolations.isViolationOf(e, ORDER_FOREIGN_KEY)) {
+                throw orderNotFound(orderId);
+            }
+            throw e;
+        }
     }
 
-    @Transactional(readOnly = true)
-    public List<OrderNote> getAllNotes(Long orderId) {
-        var order = orderService.getOrderById(orderId);
-        return orderNoteRepository.findByOrderOrderByCreatedAtDesc(order);
+    /**
+     * Get one page of notes of an order, newest first.
+     *
+     * @param orderId the order id
+     * @param since   only return notes created strictly after this time, or null for all notes
+     * @param cursor  the continuation token returned with the previous page, or null for the first page
+     * @param limit   the requested page size, capped at notes.page.max-size
+     * @return the page and the continuation token of the next page, or a null token if this is the last page
+     */
+    public OrderNotePage getNotePage(Long orderId, LocalDateTime since, String cursor, Integer limit) {
+        int pageSize = limit == null ? defaultPageSize : Math.clamp(limit, 1, maxPageSize);
+
+        LocalDateTime afterCreatedAt = null;
+        Long afterId = null;
+        if (cursor != null) {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            if (!after.sort().equals(NOTE_CURSOR_SORT)) {
+                throw KeysetCursor.invalidCursor(cursor);
+            }
+            try {
+                afterCreatedAt = LocalDateTime.parse(after.value());
+            } catch (DateTimeException e) {
+                throw KeysetCursor.invalidCursor(cursor);
+            }
+            afterId = after.id();
+        }
+
+        // Fetch one extra row to find out whether there is a next page.
+        List<OrderNoteView> notes = orderNoteQueryRepository.findPage(orderId, since, afterCreatedAt, afterId, pageSize + 1);
+        if (notes.isEmpty()) {
+            // An empty page is only a 404 when the order itself is missing.
+            requireOrderExists(orderId);
+        }
+        if (notes.size() <= pageSize) {
+            return new OrderNotePage(notes, null);
+        }
+
+        List<OrderNoteView> page = notes.subList(0, pageSize);
+        OrderNoteView last = page.getLast();
+        String nextCursor = new KeysetCursor(NOTE_CURSOR_SORT, last.createdAt().toString(), last.id()).encode();
+        return new OrderNotePage(page, nextCursor);
+    }
+
+    /**
+     * Get the newest notes of many orders at once.
+     *
+     * @param orderIds the order ids, at most notes.batch.max-orders
+     * @param limit    the requested number of notes per order, capped at notes.page.max-size
+     * @return the notes, grouped by order id and newest first within each order
+     */
+    public List<OrderNoteView> getLatestNotes(Set<Long> orderIds, Integer limit) {
+        if (orderIds.size() > maxBatchOrders) {
+            throw new BatchSizeExceededException("At most " + maxBatchOrders + " order IDs can be given at once.", HttpStatus.BAD_REQUEST);
+        }
+        if (orderIds.isEmpty()) {
+            return List.of();
+        }
+
+        int perOrder = limit == null ? defaultBatchLimit : Math.clamp(limit, 1, maxPageSize);
+        return orderNoteQueryRepository.findLatestByOrderIds(orderIds, perOrder);
     }
 
+    /**
+     * Delete a note of an order with a single statement. The order is only looked up when nothing was deleted, to
+     * tell a missing order apart from a missing note.
+     */
     @Transactional
     public void deleteNote(Long orderId, Long noteId) {
-        var order = orderService.getOrderById(orderId);
-        if (!orderNoteRepository.existsByIdAndOrder(noteId, order)) {
+        if (orderNoteRepository.deleteByIdAndOrderId(noteId, orderId) == 0) {
+            requireOrderExists(orderId);
             throw new OrderNoteNotFoundException(String.format("Order with id %d does not have a note with id %d", orderId, noteId), HttpStatus.NOT_FOUND);
         }
-        orderNoteRepository.deleteById(noteId);
     }
-}
\ No newline at end of file
+
+    private void requireOrderExists(Long orderId) {
+        if (!orderRepository.existsById(orderId)) {
+            throw orderNotFound(orderId);
+        }
+    }
+
+    private static OrderNotFoundException orderNotFound(Long orderId) {
+        return new OrderNotFoundException("Order with ID " + orderId + " not found.", HttpStatus.NOT_FOUND);
+    }
+}
@@ -1,36 +1,63 @@
 package com.corsairops.maintenance.service;
 
+import com.corsairops.maintenance.dto.BulkOrderItemResult;
+import com.corsairops.maintenance.dto.BulkOrderItemStatus;
+import com.corsairops.maintenance.dto.OrderFilter;
 import com.corsairops.maintenance.dto.OrderRequest;
+import com.corsairops.maintenance.exception.InvalidStatusTransitionException;
 import com.corsairops.maintenance.exception.OpenOrderExistsException;
 import com.corsairops.maintenance.exception.OrderNotFoundException;
+import com.corsairops.maintenance.exception.OrderVersionMismatchException;
 import com.corsairops.maintenance.model.Order;
+import com.corsairops.maintenance.model.OrderPage;
+import com.corsairops.maintenance.model.OrderSort;
 import com.corsairops.maintenance.model.OrderStatus;
+import com.corsairops.maintenance.model.OrderView;
+import com.corsairops.maintenance.repository.OrderQueryRepository;
+import com.corsairops.maintenance.repository.OrderQueryRepository.OrderChange;
 import com.corsairops.maintenance.repository.OrderRepository;
-import com.corsairops.shared.client.AssetServiceClient;
+import com.corsairops.maintenance.util.AssetServiceClientUtil;
+import com.corsairops.maintenance.util.AssetServiceClientUtil.AssetLookup;
+import com.corsairops.maintenance.util.ConstraintViolations;
+import com.corsairops.maintenance.util.KeysetCursor;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.List;
-import java.util.UUID;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class OrderService {
+    private static final List<OrderStatus> OPEN_STATUSES = List.of(OrderStatus.PENDING, OrderStatus.IN_PROGRESS);
+    private static final String OPEN_ORDER_CONSTRAINT = "uq_orders_open_asset_id";
+    private static final int MAX_BULK_INSERT_RETRIES_WITHOUT_PROGRESS = 3;
+
     private final OrderRepository orderRepository;
-    private final AssetServiceClient assetServiceClient;
+    private final OrderQueryRepository orderQueryRepository;
+    private final AssetServiceClientUtil assetServiceClientUtil;
+    private final OrderStatsService orderStatsService;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${orders.page.default-size:50}")
+    private int defaultPageSize;
+
+    @Value("${orders.page.max-size:200}")
+    private int maxPageSize;
 
     @Transactional
     public Order createOrder(@Valid OrderRequest request, String placedBy) {
         // Validate asset existence
-        assetServiceClient.getAssetById(UUID.fromString(request.assetId()));
-
-        // Check if asset already has a PENDING or IN_PROGRESS order.
-        if (orderRepository.existsByAssetIdAndStatusIn(request.assetId(), List.of(OrderStatus.PENDING, OrderStatus.IN_PROGRESS))) {
-            throw new OpenOrderExistsException("An open order already exists for asset " + request.assetId(), HttpStatus.CONFLICT);
-        }
+        assetServiceClientUtil.getRequiredAsset(request.assetId());
 
         Order order = Order.builder()
                 .assetId(request.assetId())
@@ -40,39 +67,253 @@ public class OrderService {
                 .placedBy(placedBy)
                 .build();
 
-        return orderRepository.save(order);
+        // The database allows only one PENDING or IN_PROGRESS order per asset.
+        Order savedOrder;
+        try {
+            savedOrder = orderRepository.saveAndFlush(order);
+        } catch (DataIntegrityViolationException e) {
+            throw openOrderExists(e, request.assetId());
+        }
+        orderStatsService.recordCreated(List.of(savedOrder));
+        return savedOrder;
     }
 
-    @Transactional(readOnly = true)
-    public List<Order> getAllOrders() {
-        return orderRepository.findAll();
+    private static RuntimeException openOrderExists(DataIntegrityViolationException e, String assetId) {
+        if (ConstraintViolations.isViolationOf(e, OPEN_ORDER_CONSTRAINT)) {
+            return new OpenOrderExistsException("An open order already exists for asset " + assetId, HttpStatus.CONFLICT);
+        }
+        return e;
     }
 
-    @Transactional(readOnly = true)
-    public List<Order> getAllOrders(String assetId) {
-        return orderRepository.findByAssetId(assetId);
+    /**
+     * Create many orders at once. Assets are validated in one concurrent batch and open-order conflicts for the
+     * whole set are found with one query. The accepted orders are then inserted with JDBC batching. Each request
+     * gets its own result, so one rejected order does not fail the rest. No transaction is held while the assets
+     * are looked up.
+     *
+     * @param requests the orders to create
+     * @param placedBy the user placing the orders
+     * @return one result per request, in request order
+     */
+    public List<BulkOrderItemResult> createOrders(List<OrderRequest> requests, String placedBy) {
+        Set<String> assetIds = requests.stream()
+                .map(OrderRequest::assetId)
+                .collect(Collectors.toSet());
+        Map<String, AssetLookup> assetLookups = assetServiceClientUtil.lookupAssets(assetIds);
+        Set<String> assetsWithOpenOrders = new HashSet<>(orderRepository.findAssetIdsWithStatusIn(assetIds, OPEN_STATUSES));
+
+        BulkOrderItemResult[] results = new BulkOrderItemResult[requests.size()];
+        Map<Integer, OrderRequest> accepted = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            OrderRequest request = requests.get(i);
+            String assetId = request.assetId();
+            AssetLookup assetLookup = assetLookups.get(assetId);
+            boolean opensOrder = OPEN_STATUSES.contains(request.status());
+
+            if (assetLookup == AssetLookup.NOT_FOUND) {
+                results[i] = rejected(i, assetId, BulkOrderItemStatus.ASSET_NOT_FOUND, "Asset " + assetId + " not found.");
+            } else if (assetLookup != AssetLookup.FOUND) {
+                results[i] = rejected(i, assetId, BulkOrderItemStatus.ASSET_LOOKUP_FAILED, "Asset " + assetId + " could not be verified.");
+            } else if (opensOrder && assetsWithOpenOrders.contains(assetId)) {
+                results[i] = openOrderExists(i, assetId);
+            } else {
+                accepted.put(i, request);
+                if (opensOrder) {
+                    assetsWithOpenOrders.add(assetId);
+                }
+            }
+        }
+
+        insertOrders(accepted, results, placedBy)
+                .forEach((i, order) -> results[i] = new BulkOrderItemResult(i, order.getAssetId(), BulkOrderItemStatus.CREATED, order.getId(), null));
+        return Arrays.asList(results);
     }
 
-    @Transactional(readOnly = true)
-    public Order getOrderById(Long orderId) {
-        return orderRepository.findById(orderId)
+    /**
+     * Insert the accepted orders of a bulk request in one transaction. Conflicts were checked up front, so a
+     * violation means a concurrent request opened an order for one of the assets first. The insert is then rolled
+     * back, the open orders are checked again, the requests that now collide are reported as OPEN_ORDER_EXISTS and
+     * the rest are retried. The asset named by the violation always counts as colliding, so every retry has fewer
+     * orders to insert; only when the violation does not name it and the recheck finds nothing is the retry bounded.
+     */
+    private Map<Integer, Order> insertOrders(Map<Integer, OrderRequest> accepted, BulkOrderItemResult[] results, String placedBy) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        int retriesWithoutProgress = 0;
+        while (true) {
+            // Fresh entities per attempt, since a rolled back flush leaves ids and versions on the old ones
+            Map<Integer, Order> orders = new LinkedHashMap<>();
+            accepted.forEach((i, request) -> orders.put(i, Order.builder()
+                    .assetId(request.assetId())
+                    .description(request.description())
+                    .status(request.status())
+                    .priority(request.priority())
+                    .placedBy(placedBy)
+                    .build()));
+            try {
+                return transactionTemplate.execute(status -> {
+                    orderRepository.saveAllAndFlush(orders.values());
+                    orderStatsService.recordCreated(orders.values());
+                    return orders;
+                });
+            } catch (DataIntegrityViolationException e) {
+                if (!ConstraintViolations.isViolationOf(e, OPEN_ORDER_CONSTRAINT)) {
+                    throw e;
+                }
+                Set<String> assetIds = accepted.values().stream()
+                        .map(OrderRequest::assetId)
+                        .collect(Collectors.toSet());
+                Set<String> openAssets = new HashSet<>(orderRepository.findAssetIdsWithStatusIn(assetIds, OPEN_STATUSES));
+                ConstraintViolations.conflictingValue(e, "asset_id").ifPresent(openAssets::add);
+                boolean progress = accepted.entrySet().removeIf(entry -> {
+                    OrderRequest request = entry.getValue();
+                    if (OPEN_STATUSES.contains(request.status()) && openAssets.contains(request.assetId())) {
+                        results[entry.getKey()] = openOrderExists(entry.getKey(), request.assetId());
+                        return true;
+                    }
+                    return false;
+                });
+                if (!progress && ++retriesWithoutProgress >= MAX_BULK_INSERT_RETRIES_WITHOUT_PROGRESS) {
+                    throw new OpenOrderExistsException("Concurrent requests kept opening orders for the requested assets; retry the request.", HttpStatus.CONFLICT);
+                }
+            }
+        }
+    }
+
+    private static BulkOrderItemResult openOrderExists(int index, String assetId) {
+        return rejected(index, assetId, BulkOrderItemStatus.OPEN_ORDER_EXISTS, "An open order already exists for asset " + assetId);
+    }
+
+    private static BulkOrderItemResult rejected(int index, String assetId, BulkOrderItemStatus status, String message) {
+        return new BulkOrderItemResult(index, assetId, status, null, message);
+    }
+
+    /**
+     * Get one page of orders matching the filter, in keyset order.
+     *
+     * @param filter  the criteria the orders must match
+     * @param sort    the ordering of the pages
+     * @param cursor  the continuation token returned with the previous page, or null for the first page
+     * @param limit   the requested page size, capped at orders.page.max-size
+     * @return the page and the continuation token of the next page, or a null token if this is the last page
+     */
+    public OrderPage getOrderPage(OrderFilter filter, OrderSort sort, String cursor, Integer limit) {
+        int pageSize = limit == null ? defaultPageSize : Math.clamp(limit, 1, maxPageSize);
+
+        Object afterValue = null;
+        Long afterId = null;
+        if (cursor != null) {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            if (!after.sort().equals(sort.name())) {
+                throw KeysetCursor.invalidCursor(cursor);
+            }
+            afterValue = parseCursorValue(sort, after, cursor);
+            afterId = after.id();
+        }
+
+        // Fetch one extra row to find out whether there is a next page.
+        List<OrderView> orders = orderQueryRepository.findPage(filter, sort, afterValue, afterId, pageSize + 1);
+        if (orders.size() <= pageSize) {
+            return new OrderPage(orders, null);
+        }
+
+        List<OrderView> page = orders.subList(0, pageSize);
+        OrderView last = page.getLast();
+        return new OrderPage(page, new KeysetCursor(sort.name(), sort.cursorValue(last), last.id()).encode());
+    }
+
+    private static Object parseCursorValue(OrderSort sort, KeysetCursor cursor, String token) {
+        try {
+            return sort.parseCursorValue(cursor.value());
+        } catch (DateTimeException | IllegalArgumentException e) {
+            throw KeysetCursor.invalidCursor(token);
+        }
+    }
+
+    /**
+     * Get a read-only view of an order, without loading it into the persistence context.
+     *
+     * @param orderId the order id
+     * @return the order view
+     */
+    public OrderView getOrderView(Long orderId) {
+        return orderQueryRepository.findViewById(orderId)
                 .orElseThrow(() -> new OrderNotFoundException("Order with ID " + orderId + " not found.", HttpStatus.NOT_FOUND));
     }
 
     @Transactional
-    public Order updateOrder(Long orderId, OrderRequest request) {
-        Order existingOrder = getOrderById(orderId);
-        existingOrder.setDescription(request.description());
-        existingOrder.setStatus(request.status());
-        existingOrder.setPriority(request.priority());
-        return orderRepository.save(existingOrder);
+    public OrderView updateOrder(Long orderId, OrderRequest request) {
+        return updateOrder(orderId, request, null);
     }
 
+    /**
+     * Update an order with a single conditional statement, without reading it first.
+     *
+     * @param orderId         the order id
+     * @param request         the new description, status and priority
+     * @param expectedVersion the version the caller last saw, or null to update unconditionally
+     * @return the updated order
+     */
     @Transactional
-    public void deleteOrder(Long orderId) {
-        if (!orderRepository.existsById(orderId)) {
-            throw new OrderNotFoundException("Order with ID " + orderId + " not found.", HttpStatus.NOT_FOUND);
+    public OrderView updateOrder(Long orderId, OrderRequest request, Long expectedVersion) {
+        Optional<OrderChange> change;
+        try {
+            change = orderQueryRepository.updateOrder(orderId, request.description(), request.status(),
+                    request.priority(), expectedVersion, LocalDateTime.now());
+        } catch (DataIntegrityViolationException e) {
+            // The asset of an order cannot change, so the conflict is on the asset of the stored row, not the request.
+            // The database reports that asset with the violation; reading the row would need a second connection.
+            String assetId = ConstraintViolations.conflictingValue(e, "asset_id")
+                    .orElse("of order " + orderId);
+            throw openOrderExists(e, assetId);
+        }
+
+        if (change.isEmpty()) {
+            // Nothing was updated; only now find out whether the order is missing or was changed concurrently.
+            if (!orderRepository.existsById(orderId)) {
+                throw new OrderNotFoundException("Order with ID " + orderId + " not found.", HttpStatus.NOT_FOUND);
+            }
+            throw versionMismatch(orderId);
+        }
+        orderStatsService.recordChanges(List.of(change.get()));
+        return change.get().order();
+    }
+
+    public static OrderVersionMismatchException versionMismatch(Long orderId) {
+        return new OrderVersionMismatchException("Order with ID " + orderId + " was modified by another request.", HttpStatus.PRECONDITION_FAILED);
+    }
+
+    /**
+     * Close many open orders at once with a single set-based update, recording who closed them.
+     *
+     * @param ids         the ids of the orders to close, may be empty when a filter is given
+     * @param filter      the criteria the orders must match, may be null when ids are given
+     * @param status      the closing status, COMPLETED or CANCELLED
+     * @param completedBy the user closing the orders
+     * @return the orders that were closed
+     */
+    @Transactional
+    public List<OrderView> closeOrders(List<Long> ids, OrderFilter filter, OrderStatus status, String completedBy) {
+        if (OPEN_STATUSES.contains(status)) {
+            throw new InvalidStatusTransitionException("Orders can only be moved to COMPLETED or CANCELLED in bulk.", HttpStatus.BAD_REQUEST);
         }
-        orderRepository.deleteById(orderId);
+
+        List<Long> orderIds = ids != null ? ids : List.of();
+        OrderFilter orderFilter = filter != null ? filter : OrderFilter.none();
+        if (orderIds.isEmpty() && !orderFilter.hasCriteria()) {
+            throw new InvalidStatusTransitionException("Order IDs or a filter are required.", HttpStatus.BAD_REQUEST);
+        }
+
+        List<OrderChange> closedOrders = orderQueryRepository.closeOrders(orderIds, orderFilter, status, completedBy, LocalDateTime.now());
+        orderStatsService.recordChanges(closedOrders);
+        return closedOrders.stream()
+                .map(OrderChange::order)
+                .toList();
+    }
+
+    @Transactional
+    public void deleteOrder(Long orderId) {
+        OrderView deletedOrder = orderQueryRepository.deleteOrder(orderId)
+                .orElseThrow(() -> new OrderNotFoundException("Order with ID " + orderId + " not found.", HttpStatus.NOT_FOUND));
+        orderStatsService.recordDeleted(deletedOrder);
     }
 }
\ No newline at end of file
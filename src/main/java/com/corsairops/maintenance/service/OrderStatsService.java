@@ -0,0 +1,101 @@
+package com.corsairops.maintenance.service;
+
+import com.corsairops.maintenance.dto.OrderStatsResponse;
+import com.corsairops.maintenance.model.Order;
+import com.corsairops.maintenance.model.OrderStatus;
+import com.corsairops.maintenance.model.OrderView;
+import com.corsairops.maintenance.repository.OrderQueryRepository.OrderChange;
+import com.corsairops.maintenance.repository.OrderStatsRepository;
+import com.corsairops.maintenance.repository.OrderStatsRepository.StatsCount;
+import com.corsairops.maintenance.repository.OrderStatsRepository.StatsDelta;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Keeps the order count rollup in step with order writes and serves dashboard stats from it. The record methods
+ * must be called inside the transaction that changes the orders, so the rollup commits or rolls back with them.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderStatsService {
+    private static final Comparator<StatsKey> KEY_ORDER = Comparator.comparing(StatsKey::day)
+            .thenComparing(StatsKey::status)
+            .thenComparingInt(StatsKey::priority);
+
+    private final OrderStatsRepository orderStatsRepository;
+
+    public void recordCreated(Collection<Order> orders) {
+        Map<StatsKey, Long> deltas = new TreeMap<>(KEY_ORDER);
+        orders.forEach(order -> add(deltas, order.getCreatedAt(), order.getStatus(), order.getPriority(), 1));
+        apply(deltas);
+    }
+
+    public void recordChanges(List<OrderChange> changes) {
+        Map<StatsKey, Long> deltas = new TreeMap<>(KEY_ORDER);
+        for (OrderChange change : changes) {
+            OrderView order = change.order();
+            add(deltas, order.createdAt(), change.previousStatus(), change.previousPriority(), -1);
+            add(deltas, order.createdAt(), order.status(), order.priority(), 1);
+        }
+        apply(deltas);
+    }
+
+    public void recordDeleted(OrderView order) {
+        Map<StatsKey, Long> deltas = new TreeMap<>(KEY_ORDER);
+        add(deltas, order.createdAt(), order.status(), order.priority(), -1);
+        apply(deltas);
+    }
+
+    /**
+     * Get order counts by status and priority from the rollup.
+     *
+     * @param from the first creation day, inclusive, or null for no lower bound
+     * @param to   the last creation day, inclusive, or null for no upper bound
+     * @return the total and the counts per status and per priority
+     */
+    @Transactional(readOnly = true)
+    public OrderStatsResponse getStats(LocalDate from, LocalDate to) {
+        Map<OrderStatus, Long> byStatus = new EnumMap<>(OrderStatus.class);
+        Map<Integer, Long> byPriority = new TreeMap<>();
+        long total = 0;
+        for (StatsCount count : orderStatsRepository.findCounts(from, to)) {
+            byStatus.merge(count.status(), count.count(), Long::sum);
+            byPriority.merge(count.priority(), count.count(), Long::sum);
+            total += count.count();
+        }
+        return new OrderStatsResponse(total, byStatus, byPriority);
+    }
+
+    /**
+     * Rebuild the rollup from the orders table, repairing any drift from writes that bypassed this service.
+     */
+    @Scheduled(cron = "${orders.stats.repair-cron:0 0 3 * * *}")
+    @Transactional
+    public void rebuildStats() {
+        int rows = orderStatsRepository.rebuild();
+        log.info("Rebuilt order stats rollup with {} rows", rows);
+    }
+
+    private static void add(Map<StatsKey, Long> deltas, LocalDateTime createdAt, OrderStatus status, int priority, long delta) {
+        deltas.merge(new StatsKey(createdAt.toLocalDate(), status, priority), delta, Long::sum);
+    }
+
+    private void apply(Map<StatsKey, Long> deltas) {
+        List<StatsDelta> changes = deltas.entrySet().stream()
+                .filter(entry -> entry.getValue() != 0)
+                .map(entry -> new StatsDelta(entry.getKey().day(), entry.getKey().status(), entry.getKey().priority(), entry.getValue()))
+                .toList();
+        orderStatsRepository.applyDeltas(changes);
+    }
+
+    private record StatsKey(LocalDate day, OrderStatus status, int priority) {
+    }
+}
@@ -0,0 +1,109 @@
+package com.corsairops.maintenance.util;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Admits at most a fixed number of threads to the connection pool at once, queueing the rest in arrival order on a fair
+ * semaphore. With virtual request threads, thousands of requests can ask for a connection at the same moment; without
+ * admission they all contend inside the pool and those past its connection timeout fail. A permit is held from
+ * {@code getConnection} until the connection is closed.
+ */
+public class AdmissionControlDataSource extends DelegatingDataSource {
+    private final Semaphore permits;
+    private final Duration timeout;
+    private final Timer waitTimer;
+
+    public AdmissionControlDataSource(DataSource targetDataSource, int maxConcurrency, Duration timeout,
+                                      MeterRegistry meterRegistry) {
+        super(targetDataSource);
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.timeout = timeout;
+        this.waitTimer = Timer.builder("maintenance.datasource.admission.wait")
+                .description("Time spent waiting for a database admission permit")
+                .register(meterRegistry);
+        Gauge.builder("maintenance.datasource.admission.queued", permits, Semaphore::getQueueLength)
+                .description("Threads waiting for a database admission permit")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return admitted(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return admitted(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private void acquire() throws SQLException {
+        long start = System.nanoTime();
+        try {
+            boolean acquired = permits.tryAcquire(timeout.toNanos(), TimeUnit.NANOSECONDS);
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if (!acquired) {
+                throw new SQLTransientConnectionException("No database admission permit available within " + timeout
+                        + ", " + permits.getQueueLength() + " threads waiting");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a database admission permit", e);
+        }
+    }
+
+    /**
+     * Wrap a pooled connection so that closing it, once, returns the admission permit.
+     */
+    private Connection admitted(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "toString" -> "Admitted " + connection;
+                    case "close" -> {
+                        try {
+                            connection.close();
+                        } finally {
+                            if (released.compareAndSet(false, true)) {
+                                permits.release();
+                            }
+                        }
+                        yield null;
+                    }
+                    default -> {
+                        try {
+                            yield method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    }
+                });
+    }
+}
@@ -0,0 +1,219 @@
+package com.corsairops.maintenance.util;
+
+import com.corsairops.shared.client.AssetServiceClient;
+import com.corsairops.shared.dto.asset.AssetResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.time.Duration;
+import java.util.*;
+
+@Component
+public class AssetServiceClientUtil {
+    private final AssetServiceClient assetServiceClient;
+    private final EnrichmentExecutor enrichmentExecutor;
+    private final EnrichmentMetrics enrichmentMetrics;
+    private final SingleFlight<UUID, AssetResponse> singleFlight;
+    private final boolean cacheEnabled;
+    private final LoadingCache<UUID, AssetResponse> assetCache;
+    private final Cache<UUID, MissingAsset> missingAssetCache;
+
+    public AssetServiceClientUtil(AssetServiceClient assetServiceClient,
+                                  EnrichmentExecutor enrichmentExecutor,
+                                  EnrichmentMetrics enrichmentMetrics,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${asset-cache.enabled:true}") boolean cacheEnabled,
+                                  @Value("${asset-cache.maximum-size:10000}") long maximumSize,
+                                  @Value("${asset-cache.expire-after-write:30m}") Duration expireAfterWrite,
+                                  @Value("${asset-cache.refresh-after-write:5m}") Duration refreshAfterWrite,
+                                  @Value("${asset-cache.negative-ttl:30s}") Duration negativeTtl) {
+        this.assetServiceClient = assetServiceClient;
+        this.enrichmentExecutor = enrichmentExecutor;
+        this.enrichmentMetrics = enrichmentMetrics;
+        this.singleFlight = new SingleFlight<>("assets", meterRegistry);
+        this.cacheEnabled = cacheEnabled;
+        this.assetCache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .refreshAfterWrite(refreshAfterWrite)
+                .executor(enrichmentExecutor.asyncExecutor())
+                .recordStats()
+                .build(new AssetCacheLoader());
+        this.missingAssetCache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(negativeTtl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, assetCache, "assets");
+        CaffeineCacheMetrics.monitor(meterRegistry, missingAssetCache, "missing-assets");
+    }
+
+    /**
+     * Get an asset through the cache, failing if the Asset Service does not know it.
+     *
+     * @param assetId the asset id
+     * @return the asset
+     * @throws HttpClientErrorException if the Asset Service rejected the lookup, including a recently cached 404
+     */
+    public AssetResponse getRequiredAsset(String assetId) {
+        UUID id = UUID.fromString(assetId);
+        if (!cacheEnabled) {
+            return fetchAsset(id);
+        }
+
+        MissingAsset missing = missingAssetCache.getIfPresent(id);
+        if (missing != null) {
+            throw missing.toException();
+        }
+        return assetCache.get(id);
+    }
+
+    /**
+     * Fetch the given assets, serving cached assets directly and fetching the rest concurrently. An asset that
+     * cannot be fetched is replaced by a placeholder on its own, so one failing lookup does not affect the rest of
+     * the map.
+     *
+     * @param assetIds the asset ids to fetch
+     * @return a map of asset id to asset or placeholder
+     */
+    public Map<String, AssetResponse> getAssetsMap(Set<String> assetIds) {
+        enrichmentMetrics.recordFanOut("assets", assetIds.size());
+        if (!cacheEnabled) {
+            return enrichmentExecutor.fetchAll(assetIds, this::getRequiredAsset, this::getAssetPlaceholder);
+        }
+
+        Map<UUID, String> lookupIds = new HashMap<>();
+        assetIds.forEach(assetId -> lookupIds.put(UUID.fromString(assetId), assetId));
+        Set<UUID> missingIds = missingAssetCache.getAllPresent(lookupIds.keySet()).keySet();
+        lookupIds.keySet().removeAll(missingIds);
+
+        Map<UUID, AssetResponse> assets = assetCache.getAll(lookupIds.keySet());
+
+        Map<String, AssetResponse> assetsMap = new HashMap<>();
+        assetIds.forEach(assetId -> {
+            UUID id = UUID.fromString(assetId);
+            AssetResponse asset = assets.get(id);
+            if (asset == null) {
+                asset = getAssetPlaceholder(assetId, missingIds.contains(id) ? "not_found" : "unavailable");
+            }
+            assetsMap.put(assetId, asset);
+        });
+        return assetsMap;
+    }
+
+    /**
+     * Check which of the given assets exist, looking them up concurrently through the cache.
+     *
+     * @param assetIds the asset ids to check
+     * @return a map of asset id to lookup outcome
+     */
+    public Map<String, AssetLookup> lookupAssets(Set<String> assetIds) {
+        return enrichmentExecutor.fetchAll(assetIds, assetId -> {
+            try {
+                getRequiredAsset(assetId);
+                return AssetLookup.FOUND;
+            } catch (HttpClientErrorException e) {
+                if (e.getStatusCode().isSameCodeAs(HttpStatus.NOT_FOUND)) {
+                    return AssetLookup.NOT_FOUND;
+                }
+                throw e;
+            }
+        }, assetId -> AssetLookup.FAILED);
+    }
+
+    /**
+     * Fetch an asset from the Asset Service. Concurrent fetches of the same asset share a single call, whether they
+     * come from cache misses, cache refreshes or uncached lookups.
+     */
+    private AssetResponse fetchAsset(UUID assetId) {
+        try {
+            return singleFlight.execute(assetId, () -> enrichmentMetrics.timeClientCall("asset-service", "getAssetById",
+                    () -> assetServiceClient.getAssetById(assetId)));
+        } catch (HttpClientErrorException e) {
+            if (e.getStatusCode().isSameCodeAs(HttpStatus.NOT_FOUND)) {
+                missingAssetCache.put(assetId, MissingAsset.of(e));
+            }
+            throw e;
+        }
+    }
+
+    private AssetResponse getAssetPlaceholder(String assetId) {
+        return getAssetPlaceholder(assetId, "unavailable");
+    }
+
+    private AssetResponse getAssetPlaceholder(String assetId, String reason) {
+        enrichmentMetrics.recordPlaceholder("asset", reason);
+        return new AssetResponse(UUID.fromString(assetId), null, null, null, null, null, null, null);
+    }
+
+    /**
+     * The parts of a cached 404 needed to rebuild it. Each caller gets a fresh exception, so stack traces and
+     * suppressed exceptions are not shared between threads.
+     */
+    private record MissingAsset(String message, HttpStatusCode statusCode, String statusText, HttpHeaders headers, byte[] body) {
+        static MissingAsset of(HttpClientErrorException e) {
+            return new MissingAsset(e.getMessage(), e.getStatusCode(), e.getStatusText(), e.getResponseHeaders(),
+                    e.getResponseBodyAsByteArray());
+        }
+
+        HttpClientErrorException toException() {
+            return HttpClientErrorException.create(message, statusCode, statusText, headers, body, null);
+        }
+    }
+
+    public enum AssetLookup {
+        FOUND,
+        NOT_FOUND,
+        FAILED
+    }
+
+    private class AssetCacheLoader implements CacheLoader<UUID, AssetResponse> {
+
+        @Override
+        public AssetResponse load(UUID assetId) {
+            return fetchAsset(assetId);
+        }
+
+        /**
+         * Load cache misses concurrently. Assets that fail to load are left out of the result, so they are not
+         * cached and the caller falls back to a placeholder for them.
+         */
+        @Override
+        public Map<UUID, AssetResponse> loadAll(Set<? extends UUID> assetIds) {
+            Map<UUID, AssetResponse> assets = new HashMap<>();
+            enrichmentExecutor.fetchAll(new ArrayList<UUID>(assetIds), AssetServiceClientUtil.this::fetchAsset, assetId -> null)
+                    .forEach((assetId, asset) -> {
+                        if (asset != null) {
+                            assets.put(assetId, asset);
+                        }
+                    });
+            return assets;
+        }
+
+        /**
+         * Refresh a stale asset in the background while the stale value keeps being served. An asset that has
+         * since been removed is evicted instead of kept.
+         */
+        @Override
+        public AssetResponse reload(UUID assetId, AssetResponse oldAsset) {
+            try {
+                return fetchAsset(assetId);
+            } catch (HttpClientErrorException e) {
+                if (e.getStatusCode().isSameCodeAs(HttpStatus.NOT_FOUND)) {
+                    return null;
+                }
+                throw e;
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.corsairops.maintenance.util;
+
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.sql.SQLException;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public final class ConstraintViolations {
+
+    private ConstraintViolations() {
+    }
+
+    /**
+     * Check whether a data integrity violation was caused by the named database constraint. Works for failures
+     * raised through Hibernate as well as through plain JDBC.
+     *
+     * @param e              the violation
+     * @param constraintName the constraint or unique index name
+     * @return whether the named constraint was violated
+     */
+    public static boolean isViolationOf(DataIntegrityViolationException e, String constraintName) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof org.hibernate.exception.ConstraintViolationException hibernateException
+                    && constraintName.equalsIgnoreCase(hibernateException.getConstraintName())) {
+                return true;
+            }
+            if (cause instanceof SQLException sqlException
+                    && sqlException.getMessage() != null
+                    && sqlException.getMessage().contains("\"" + constraintName + "\"")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Get the conflicting value of a unique violation on a single column, as reported in the detail of the database
+     * error ({@code Key (column)=(value) already exists.}). No further statement is needed, which matters because the
+     * failed statement has aborted the current transaction.
+     *
+     * @param e      the violation
+     * @param column the indexed column
+     * @return the conflicting value, or empty if the error does not report it
+     */
+    public static Optional<String> conflictingValue(DataIntegrityViolationException e, String column) {
+        Pattern detail = Pattern.compile("Key \\(" + Pattern.quote(column) + "\\)=\\((.*)\\) already exists");
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException && sqlException.getMessage() != null) {
+                Matcher matcher = detail.matcher(sqlException.getMessage());
+                if (matcher.find()) {
+                    return Optional.of(matcher.group(1));
+                }
+            }
+        }
+        return Optional.empty();
+    }
+}
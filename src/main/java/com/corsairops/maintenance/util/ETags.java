@@ -0,0 +1,81 @@
+package com.corsairops.maintenance.util;
+
+import com.corsairops.maintenance.model.OrderNoteView;
+import com.corsairops.maintenance.model.OrderView;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Strong entity tags for order and note reads. Tags are derived from the rows a response is built from, so they can
+ * be compared against If-None-Match before any asset or user enrichment runs.
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    /**
+     * The tag of a single order carries its version, so that it can be sent back in If-Match on update.
+     */
+    public static String forOrder(OrderView order) {
+        return "\"" + order.id() + "-" + order.version() + "\"";
+    }
+
+    /**
+     * Read the order version out of an If-Match value, as produced by {@link #forOrder(OrderView)}.
+     *
+     * @param ifMatch the If-Match header value
+     * @param orderId the id of the order being updated
+     * @return the version, or empty if the value does not name a version of this order
+     */
+    public static Optional<Long> parseOrderVersion(String ifMatch, Long orderId) {
+        String value = ifMatch.trim();
+        // If-Match uses strong comparison, so weak tags never match.
+        if (value.length() < 2 || !value.startsWith("\"") || !value.endsWith("\"")) {
+            return Optional.empty();
+        }
+        String prefix = orderId + "-";
+        String tag = value.substring(1, value.length() - 1);
+        if (!tag.startsWith(prefix)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Long.parseLong(tag.substring(prefix.length())));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    public static String forOrders(List<OrderView> orders, String nextCursor) {
+        StringBuilder raw = new StringBuilder("orders");
+        for (OrderView order : orders) {
+            raw.append('|').append(order.id()).append('@').append(order.version());
+        }
+        raw.append('|').append(nextCursor);
+        return hash(raw.toString());
+    }
+
+    public static String forNotes(List<OrderNoteView> notes, String nextCursor) {
+        // Notes are never updated, so their ids identify the content of a page.
+        StringBuilder raw = new StringBuilder("notes");
+        for (OrderNoteView note : notes) {
+            raw.append('|').append(note.id());
+        }
+        raw.append('|').append(nextCursor);
+        return hash(raw.toString());
+    }
+
+    private static String hash(String raw) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(raw.getBytes(StandardCharsets.UTF_8));
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest).substring(0, 22) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
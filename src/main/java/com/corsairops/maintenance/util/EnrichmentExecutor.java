@@ -0,0 +1,141 @@
+package com.corsairops.maintenance.util;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+@Slf4j
+@Component
+public class EnrichmentExecutor {
+    private final ExecutorService executorService = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("enrichment-", 0).factory());
+    private final int maxConcurrency;
+    private final Duration timeout;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> stageTimers = new ConcurrentHashMap<>();
+
+    public EnrichmentExecutor(@Value("${enrichment.max-concurrency:16}") int maxConcurrency,
+                              @Value("${enrichment.timeout:3s}") Duration timeout,
+                              MeterRegistry meterRegistry) {
+        this.maxConcurrency = maxConcurrency;
+        this.timeout = timeout;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Start an enrichment stage on a virtual thread so that it can overlap with other stages.
+     *
+     * @param stage    the stage name, used as the {@code stage} tag of the stage timer
+     * @param supplier the stage to run
+     * @return a future completing with the stage result
+     */
+    public <T> CompletableFuture<T> supplyAsync(String stage, Supplier<T> supplier) {
+        return CompletableFuture.supplyAsync(() -> timed(stage, supplier), executorService);
+    }
+
+    /**
+     * Run an enrichment stage on the calling thread, recording its duration under the
+     * {@code maintenance.enrichment.stage} timer.
+     *
+     * @param stage    the stage name, used as the {@code stage} tag of the stage timer
+     * @param supplier the stage to run
+     * @return the stage result
+     */
+    public <T> T timed(String stage, Supplier<T> supplier) {
+        return stageTimers.computeIfAbsent(stage, this::stageTimer).record(supplier);
+    }
+
+    /**
+     * Wait for a stage started with {@link #supplyAsync(String, Supplier)}, rethrowing its failure as is.
+     */
+    public <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Fetch a value for every key concurrently on virtual threads. At most {@code enrichment.max-concurrency}
+     * lookups run at once, and all of them share a single {@code enrichment.timeout} deadline. A single key also runs
+     * on its own thread, so that it is bounded by the same deadline. A key whose lookup fails or misses the deadline is
+     * resolved with the fallback, without affecting the other keys.
+     *
+     * @param keys     the keys to fetch
+     * @param fetcher  the lookup to run for each key
+     * @param fallback the value to use for a key whose lookup failed or timed out
+     * @return a map of every key to its fetched or fallback value
+     */
+    public <K, V> Map<K, V> fetchAll(Collection<K> keys, Function<K, V> fetcher, Function<K, V> fallback) {
+        Map<K, V> results = new HashMap<>();
+        if (keys.isEmpty()) {
+            return results;
+        }
+
+        Semaphore permits = new Semaphore(maxConcurrency);
+        Map<K, Future<V>> futures = new HashMap<>();
+        for (K key : keys) {
+            futures.put(key, executorService.submit(() -> {
+                permits.acquire();
+                try {
+                    return fetcher.apply(key);
+                } finally {
+                    permits.release();
+                }
+            }));
+        }
+
+        long deadline = System.nanoTime() + timeout.toNanos();
+        futures.forEach((key, future) -> results.put(key, await(key, future, deadline, fallback)));
+        return results;
+    }
+
+    private <K, V> V await(K key, Future<V> future, long deadline, Function<K, V> fallback) {
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            log.warn("Enrichment of {} did not complete within {}", key, timeout);
+        } catch (ExecutionException e) {
+            log.error("Enrichment of {} failed: {}", key, e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+        }
+        return fallback.apply(key);
+    }
+
+    /**
+     * The virtual-thread executor backing enrichment, for background work such as cache refreshes.
+     */
+    public Executor asyncExecutor() {
+        return executorService;
+    }
+
+    private Timer stageTimer(String stage) {
+        return Timer.builder("maintenance.enrichment.stage")
+                .description("Time spent in each order enrichment stage")
+                .tag("stage", stage)
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executorService.shutdownNow();
+    }
+}
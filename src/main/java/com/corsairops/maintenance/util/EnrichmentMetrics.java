@@ -0,0 +1,55 @@
+package com.corsairops.maintenance.util;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+
+import java.util.function.Supplier;
+
+/**
+ * Meters for the downstream calls made while enriching orders and notes. Percentiles and histograms are configured
+ * for the {@code maintenance} prefix through {@code management.metrics.distribution.*}.
+ */
+@Component
+public class EnrichmentMetrics {
+    private final MeterRegistry meterRegistry;
+
+    public EnrichmentMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Time a call to a downstream service, tagged with the client, the operation and how the call ended.
+     */
+    public <T> T timeClientCall(String client, String operation, Supplier<T> call) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            return call.get();
+        } catch (HttpStatusCodeException e) {
+            outcome = e.getStatusCode().is4xxClientError() ? "client_error" : "server_error";
+            throw e;
+        } catch (RuntimeException e) {
+            outcome = "error";
+            throw e;
+        } finally {
+            sample.stop(meterRegistry.timer("maintenance.client.requests",
+                    "client", client, "operation", operation, "outcome", outcome));
+        }
+    }
+
+    /**
+     * Count a placeholder returned in place of an asset or user that could not be fetched.
+     */
+    public void recordPlaceholder(String type, String reason) {
+        meterRegistry.counter("maintenance.enrichment.placeholders", "type", type, "reason", reason).increment();
+    }
+
+    /**
+     * Record how many distinct assets or users one enrichment call asked for.
+     */
+    public void recordFanOut(String type, int size) {
+        meterRegistry.summary("maintenance.enrichment.fanout", "type", type).record(size);
+    }
+}
@@ -0,0 +1,41 @@
+package com.corsairops.maintenance.util;
+
+import com.corsairops.maintenance.exception.InvalidCursorException;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position of the last row of a keyset page: the sort it belongs to, the sort column value and the row id. Clients
+ * only ever see it as an opaque token.
+ */
+public record KeysetCursor(
+        String sort,
+        String value,
+        long id
+) {
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        String raw = sort + SEPARATOR + value + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 3) {
+                throw invalidCursor(token);
+            }
+            return new KeysetCursor(parts[0], parts[1], Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException e) {
+            throw invalidCursor(token);
+        }
+    }
+
+    public static InvalidCursorException invalidCursor(String token) {
+        return new InvalidCursorException("Invalid cursor: " + token, HttpStatus.BAD_REQUEST);
+    }
+}
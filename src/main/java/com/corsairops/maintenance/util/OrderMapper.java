@@ -2,23 +2,24 @@ package com.corsairops.maintenance.util;
 
 import com.corsairops.maintenance.dto.OrderResponse;
 import com.corsairops.maintenance.model.Order;
-import com.corsairops.shared.client.AssetServiceClient;
+import com.corsairops.maintenance.model.OrderView;
 import com.corsairops.shared.dto.User;
 import com.corsairops.shared.dto.asset.AssetResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.HttpClientErrorException;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class OrderMapper {
-    private final AssetServiceClient assetServiceClient;
+    private final AssetServiceClientUtil assetServiceClientUtil;
     private final UserServiceClientUtil userServiceClientUtil;
+    private final EnrichmentExecutor enrichmentExecutor;
 
     /**
      * Convert a MaintenanceOrder entity to a MaintenanceOrderResponse DTO.
@@ -27,103 +28,96 @@ public class OrderMapper {
      * @return the MaintenanceOrderResponse DTO
      */
     public OrderResponse toResponse(Order order) {
-        AssetResponse asset = getAssetById(order.getAssetId());
-        Map<String, User> users = getRelevantUsers(order);
-        User placedBy = users.get(order.getPlacedBy());
-        User completedBy = order.getCompletedBy() != null ? users.get(order.getCompletedBy()) : null;
+        return toResponse(OrderView.from(order));
+    }
+
+    /**
+     * Convert a MaintenanceOrder view to a MaintenanceOrderResponse DTO.
+     *
+     * @param order the MaintenanceOrder view
+     * @return the MaintenanceOrderResponse DTO
+     */
+    public OrderResponse toResponse(OrderView order) {
+        // Asset and user lookups are independent, so run them side by side.
+        // Go through the bulk lookup so that a cache miss is bounded by enrichment.timeout.
+        CompletableFuture<AssetResponse> assetFuture = enrichmentExecutor.supplyAsync("assets",
+                () -> assetServiceClientUtil.getAssetsMap(Set.of(order.assetId())).get(order.assetId()));
+        Map<String, User> users = enrichmentExecutor.timed("users", () -> getRelevantUsers(order));
+        AssetResponse asset = enrichmentExecutor.join(assetFuture);
+        User placedBy = users.get(order.placedBy());
+        User completedBy = order.completedBy() != null ? users.get(order.completedBy()) : null;
         return createResponse(order, asset, placedBy, completedBy);
     }
 
-    private Map<String, User> getRelevantUsers(Order order) {
+    private Map<String, User> getRelevantUsers(OrderView order) {
         Set<String> userIds = new HashSet<>();
-        if (order.getPlacedBy() != null) {
-            userIds.add(order.getPlacedBy());
+        if (order.placedBy() != null) {
+            userIds.add(order.placedBy());
         }
-        if (order.getCompletedBy() != null) {
-            userIds.add(order.getCompletedBy());
+        if (order.completedBy() != null) {
+            userIds.add(order.completedBy());
         }
         return userServiceClientUtil.getUsersMap(userIds);
     }
 
-    private AssetResponse getAssetById(String assetId) {
-        try {
-            return assetServiceClient.getAssetById(UUID.fromString(assetId));
-        } catch (HttpClientErrorException e) {
-            log.error("Error fetching asset {}: {}", assetId, e.getMessage());
-            return new AssetResponse(UUID.fromString(assetId), null, null, null, null, null, null, null);
-        }
-    }
-
     /**
-     * Convert a list of MaintenanceOrder entities to a list of MaintenanceOrderResponse DTOs.
+     * Convert a list of MaintenanceOrder views to a list of MaintenanceOrderResponse DTOs.
      *
-     * @param orders the list of MaintenanceOrder entities
+     * @param orders the list of MaintenanceOrder views
      * @return the list of MaintenanceOrderResponse DTOs
      */
-    public List<OrderResponse> toResponseList(List<Order> orders) {
+    public List<OrderResponse> toResponseList(List<OrderView> orders) {
         if (orders.isEmpty()) {
             return Collections.emptyList();
         }
 
-        Map<String, AssetResponse> assets = getRelevantAssets(orders);
-        Map<String, User> users = getRelevantUsers(orders);
+        // Asset and user lookups are independent, so run them side by side.
+        CompletableFuture<Map<String, AssetResponse>> assetsFuture = enrichmentExecutor.supplyAsync("assets",
+                () -> getRelevantAssets(orders));
+        Map<String, User> users = enrichmentExecutor.timed("users", () -> getRelevantUsers(orders));
+        Map<String, AssetResponse> assets = enrichmentExecutor.join(assetsFuture);
 
-        List<OrderResponse> responses = new ArrayList<>();
-        for (Order order : orders) {
-            AssetResponse asset = assets.get(order.getAssetId());
-            User placedBy = users.get(order.getPlacedBy());
-            User completedBy = order.getCompletedBy() != null ? users.get(order.getCompletedBy()) : null;
+        List<OrderResponse> responses = new ArrayList<>(orders.size());
+        for (OrderView order : orders) {
+            AssetResponse asset = assets.get(order.assetId());
+            User placedBy = users.get(order.placedBy());
+            User completedBy = order.completedBy() != null ? users.get(order.completedBy()) : null;
             responses.add(createResponse(order, asset, placedBy, completedBy));
         }
         return responses;
     }
 
-    private Map<String, User> getRelevantUsers(List<Order> orders) {
+    private Map<String, User> getRelevantUsers(List<OrderView> orders) {
         Set<String> userIds = new HashSet<>();
         orders.forEach(order -> {
-            if (order.getPlacedBy() != null) {
-                userIds.add(order.getPlacedBy());
+            if (order.placedBy() != null) {
+                userIds.add(order.placedBy());
             }
-            if (order.getCompletedBy() != null) {
-                userIds.add(order.getCompletedBy());
+            if (order.completedBy() != null) {
+                userIds.add(order.completedBy());
             }
         });
         return userServiceClientUtil.getUsersMap(userIds);
     }
 
-    private Map<String, AssetResponse> getRelevantAssets(List<Order> orders) {
-        try {
-            Set<String> assetIds = orders.stream()
-                    .map(Order::getAssetId)
-                    .collect(Collectors.toSet());
-            Map<String, AssetResponse> assets = new HashMap<>();
-            for (String assetId : assetIds) {
-                AssetResponse asset = assetServiceClient.getAssetById(UUID.fromString(assetId));
-                assets.put(assetId, asset);
-            }
-            return assets;
-        } catch (HttpClientErrorException e) {
-            log.error("Error fetching assets for orders: {}", e.getMessage());
-            Map<String, AssetResponse> assets = new HashMap<>();
-            orders.forEach(order -> {
-                String assetId = order.getAssetId();
-                assets.put(assetId, new AssetResponse(UUID.fromString(assetId), null, null, null, null, null, null, null));
-            });
-            return assets;
-        }
+    private Map<String, AssetResponse> getRelevantAssets(List<OrderView> orders) {
+        Set<String> assetIds = orders.stream()
+                .map(OrderView::assetId)
+                .collect(Collectors.toSet());
+        return assetServiceClientUtil.getAssetsMap(assetIds);
     }
 
-    private static OrderResponse createResponse(Order order, AssetResponse asset, User placedBy, User completedBy) {
+    private static OrderResponse createResponse(OrderView order, AssetResponse asset, User placedBy, User completedBy) {
         return new OrderResponse(
-                order.getId(),
+                order.id(),
                 asset,
-                order.getDescription(),
-                order.getStatus(),
-                order.getPriority(),
+                order.description(),
+                order.status(),
+                order.priority(),
                 placedBy,
                 completedBy,
-                order.getCreatedAt(),
-                order.getUpdatedAt()
+                order.createdAt(),
+                order.updatedAt()
         );
     }
-}
\ No newline at end of file
+}
@@ -2,14 +2,13 @@ package com.corsairops.maintenance.util;
 
 import com.corsairops.maintenance.dto.OrderNoteResponse;
 import com.corsairops.maintenance.model.OrderNote;
+import com.corsairops.maintenance.model.OrderNoteView;
 import com.corsairops.shared.dto.User;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
-import java.util.List;
-import java.util.Map;
-import java.util.Set;
+import java.util.*;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -19,37 +18,53 @@ public class OrderNoteMapper {
 
     private final UserServiceClientUtil userServiceClientUtil;
 
-    public List<OrderNoteResponse> toResponseList(List<OrderNote> notes) {
+    public List<OrderNoteResponse> toResponseList(List<OrderNoteView> notes) {
         Set<String> userIds = extractUserIds(notes);
         Map<String, User> userMap = userServiceClientUtil.getUsersMap(userIds);
         return mapNotesToResponses(notes, userMap);
     }
 
-    private Set<String> extractUserIds(List<OrderNote> notes) {
+    /**
+     * Convert notes of many orders to responses grouped by order id, resolving all authors in one user batch.
+     *
+     * @param orderIds the requested order ids; each gets an entry, empty if it has no notes
+     * @param notes    the notes of the orders
+     * @return the responses keyed by order id
+     */
+    public Map<Long, List<OrderNoteResponse>> toResponsesByOrder(Set<Long> orderIds, List<OrderNoteView> notes) {
+        Map<Long, List<OrderNoteResponse>> responses = new LinkedHashMap<>();
+        orderIds.forEach(orderId -> responses.put(orderId, new ArrayList<>()));
+        for (OrderNoteResponse response : toResponseList(notes)) {
+            responses.computeIfAbsent(response.orderId(), orderId -> new ArrayList<>()).add(response);
+        }
+        return responses;
+    }
+
+    private Set<String> extractUserIds(List<OrderNoteView> notes) {
         return notes.stream()
-                .map(OrderNote::getCreatedBy)
+                .map(OrderNoteView::createdBy)
                 .collect(Collectors.toSet());
     }
 
-    private List<OrderNoteResponse> mapNotesToResponses(List<OrderNote> notes, Map<String, User> userMap) {
+    private List<OrderNoteResponse> mapNotesToResponses(List<OrderNoteView> notes, Map<String, User> userMap) {
         return notes.stream()
-                .map(note -> mapToResponse(note, userMap.get(note.getCreatedBy())))
+                .map(note -> mapToResponse(note, userMap.get(note.createdBy())))
                 .collect(Collectors.toList());
     }
 
     public OrderNoteResponse toResponse(OrderNote note) {
         var createdBy = userServiceClientUtil.getUserById(note.getCreatedBy());
         log.info("Fetched user {} for note id {}", createdBy, note.getId());
-        return mapToResponse(note, createdBy);
+        return mapToResponse(OrderNoteView.from(note), createdBy);
     }
 
-    private OrderNoteResponse mapToResponse(OrderNote note, User createdBy) {
+    private OrderNoteResponse mapToResponse(OrderNoteView note, User createdBy) {
         return new OrderNoteResponse(
-                note.getId(),
-                note.getOrder().getId(),
-                note.getNote(),
+                note.id(),
+                note.orderId(),
+                note.note(),
                 createdBy,
-                note.getCreatedAt()
+                note.createdAt()
         );
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,72 @@
+package com.corsairops.maintenance.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent calls for the same key into one. The first caller runs the call, and callers arriving while
+ * it is in flight wait for and share its result or failure.
+ *
+ * @param <K> the key type
+ * @param <V> the result type
+ */
+public class SingleFlight<K, V> {
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter executedCounter;
+    private final Counter collapsedCounter;
+
+    public SingleFlight(String name, MeterRegistry meterRegistry) {
+        this.executedCounter = callCounter(name, "executed", meterRegistry);
+        this.collapsedCounter = callCounter(name, "collapsed", meterRegistry);
+    }
+
+    public V execute(K key, Supplier<V> supplier) {
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> existingCall = inFlight.putIfAbsent(key, call);
+        if (existingCall != null) {
+            collapsedCounter.increment();
+            return join(existingCall);
+        }
+
+        executedCounter.increment();
+        try {
+            V value = supplier.get();
+            call.complete(value);
+            return value;
+        } catch (Throwable e) {
+            // Errors too, or the callers waiting on this call would block forever
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    private V join(CompletableFuture<V> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    private static Counter callCounter(String name, String outcome, MeterRegistry meterRegistry) {
+        return Counter.builder("maintenance.singleflight.calls")
+                .description("Calls made through a single-flight group, by whether they ran or joined an in-flight call")
+                .tag("name", name)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
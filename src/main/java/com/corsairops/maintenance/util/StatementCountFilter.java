@@ -0,0 +1,38 @@
+package com.corsairops.maintenance.util;
+
+import com.corsairops.maintenance.util.StatementCounter.RequestStatements;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logs one line per request with the number of JDBC statements it executed and the time spent in them.
+ * Work handed off to other threads, such as streamed exports, is not attributed to the request.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class StatementCountFilter extends OncePerRequestFilter {
+    private final StatementCounter statementCounter;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        statementCounter.startRequest();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestStatements statements = statementCounter.finishRequest();
+            log.info("{} {} -> {}: {} statements, {} ms in JDBC, {} ms total", request.getMethod(),
+                    request.getRequestURI(), response.getStatus(), statements.count(), statements.elapsedMillis(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+    }
+}
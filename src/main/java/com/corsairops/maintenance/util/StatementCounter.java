@@ -0,0 +1,93 @@
+package com.corsairops.maintenance.util;
+
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Counts the JDBC statements executed through the proxied DataSource, in total and for the HTTP request running on the
+ * current thread, and logs statements slower than the configured threshold. A JDBC batch counts as one statement,
+ * since it is one round trip.
+ */
+@Slf4j
+public class StatementCounter implements QueryExecutionListener {
+    private final long slowQueryThresholdMillis;
+    private final LongAdder totalStatements = new LongAdder();
+    private final ThreadLocal<RequestStatements> currentRequest = new ThreadLocal<>();
+
+    public StatementCounter(Duration slowQueryThreshold) {
+        this.slowQueryThresholdMillis = slowQueryThreshold.toMillis();
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        totalStatements.increment();
+        RequestStatements request = currentRequest.get();
+        if (request != null) {
+            request.record(execInfo.getElapsedTime());
+        }
+        if (execInfo.getElapsedTime() >= slowQueryThresholdMillis) {
+            String queries = queryInfoList.stream()
+                    .map(QueryInfo::getQuery)
+                    .collect(Collectors.joining("; "));
+            log.warn("Slow query took {} ms{}: {}", execInfo.getElapsedTime(),
+                    execInfo.isBatch() ? " (batch of " + execInfo.getBatchSize() + ")" : "", queries);
+        }
+    }
+
+    /**
+     * Get the number of statements executed since startup, across all threads.
+     */
+    public long totalStatements() {
+        return totalStatements.sum();
+    }
+
+    /**
+     * Start counting the statements of a request handled on the current thread.
+     */
+    public void startRequest() {
+        currentRequest.set(new RequestStatements());
+    }
+
+    /**
+     * Stop counting for the current thread.
+     *
+     * @return the statements executed since {@link #startRequest()}
+     */
+    public RequestStatements finishRequest() {
+        RequestStatements request = currentRequest.get();
+        currentRequest.remove();
+        return request != null ? request : new RequestStatements();
+    }
+
+    /**
+     * Statements of a single request. Only touched by the thread handling the request.
+     */
+    public static final class RequestStatements {
+        private int count;
+        private long elapsedMillis;
+
+        private void record(long millis) {
+            count++;
+            elapsedMillis += millis;
+        }
+
+        public int count() {
+            return count;
+        }
+
+        public long elapsedMillis() {
+            return elapsedMillis;
+        }
+    }
+}
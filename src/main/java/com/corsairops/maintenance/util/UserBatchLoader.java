@@ -0,0 +1,157 @@
+package com.corsairops.maintenance.util;
+
+import com.corsairops.shared.client.UserServiceClient;
+import com.corsairops.shared.dto.User;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Coalesces user lookups from concurrent callers into a single User Service call. Lookups are collected for up to
+ * {@code user-service.batch.window}, or until {@code user-service.batch.max-size} distinct ids are pending, and are
+ * then fetched together with one {@code getUsersByIds} call.
+ */
+@Slf4j
+@Component
+public class UserBatchLoader {
+    private final UserServiceClient userServiceClient;
+    private final EnrichmentExecutor enrichmentExecutor;
+    private final EnrichmentMetrics enrichmentMetrics;
+    private final Duration window;
+    private final int maxBatchSize;
+    private final DistributionSummary batchSizeSummary;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("user-batch-loader").daemon().factory());
+
+    // Not a monitor: contended monitors pin virtual threads to their carrier on Java 21.
+    private final ReentrantLock lock = new ReentrantLock();
+    private Map<String, CompletableFuture<User>> pending = new HashMap<>();
+    private ScheduledFuture<?> scheduledDispatch;
+
+    public UserBatchLoader(UserServiceClient userServiceClient,
+                           EnrichmentExecutor enrichmentExecutor,
+                           EnrichmentMetrics enrichmentMetrics,
+                           MeterRegistry meterRegistry,
+                           @Value("${user-service.batch.window:5ms}") Duration window,
+                           @Value("${user-service.batch.max-size:100}") int maxBatchSize) {
+        this.userServiceClient = userServiceClient;
+        this.enrichmentExecutor = enrichmentExecutor;
+        this.enrichmentMetrics = enrichmentMetrics;
+        this.window = window;
+        this.maxBatchSize = maxBatchSize;
+        this.batchSizeSummary = DistributionSummary.builder("maintenance.user.batch.size")
+                .description("Number of user ids sent per coalesced User Service call")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queue a single user lookup.
+     *
+     * @param id the user id
+     * @return a future completing with the user, or {@code null} if the User Service does not return it
+     */
+    public CompletableFuture<User> load(String id) {
+        lock.lock();
+        try {
+            CompletableFuture<User> future = pending.get(id);
+            if (future != null) {
+                return future;
+            }
+
+            future = new CompletableFuture<>();
+            pending.put(id, future);
+            if (pending.size() >= maxBatchSize) {
+                dispatchLocked();
+            } else if (scheduledDispatch == null) {
+                scheduledDispatch = scheduler.schedule(this::dispatch, window.toNanos(), TimeUnit.NANOSECONDS);
+            }
+            return future;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Queue several user lookups.
+     *
+     * @param ids the user ids
+     * @return a future completing with the users the User Service returned, keyed by id
+     */
+    public CompletableFuture<Map<String, User>> loadMany(Set<String> ids) {
+        Map<String, CompletableFuture<User>> futures = ids.stream()
+                .collect(Collectors.toMap(Function.identity(), this::load));
+        return CompletableFuture.allOf(futures.values().toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> {
+                    Map<String, User> users = new HashMap<>();
+                    futures.forEach((id, future) -> {
+                        User user = future.join();
+                        if (user != null) {
+                            users.put(id, user);
+                        }
+                    });
+                    return users;
+                });
+    }
+
+    private void dispatch() {
+        lock.lock();
+        try {
+            dispatchLocked();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void dispatchLocked() {
+        if (scheduledDispatch != null) {
+            scheduledDispatch.cancel(false);
+            scheduledDispatch = null;
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        Map<String, CompletableFuture<User>> batch = pending;
+        pending = new HashMap<>();
+        try {
+            enrichmentExecutor.asyncExecutor().execute(() -> fetchBatch(batch));
+        } catch (RuntimeException e) {
+            // Rejected, for example during shutdown; nothing else would ever complete these futures
+            log.error("Could not dispatch batch of {} users: {}", batch.size(), e.getMessage());
+            batch.values().forEach(future -> future.completeExceptionally(e));
+        }
+    }
+
+    private void fetchBatch(Map<String, CompletableFuture<User>> batch) {
+        batchSizeSummary.record(batch.size());
+        try {
+            String idsParam = String.join(",", batch.keySet());
+            Map<String, User> users = new HashMap<>();
+            enrichmentMetrics.timeClientCall("user-service", "getUsersByIds",
+                    () -> userServiceClient.getUsersByIds(idsParam, true)).forEach(user -> users.put(user.id(), user));
+            batch.forEach((id, future) -> future.complete(users.get(id)));
+        } catch (Throwable e) {
+            // Errors too, or the callers waiting on this batch would block forever
+            log.error("Error fetching batch of {} users from User Service: {}", batch.size(), e.getMessage());
+            batch.values().forEach(future -> future.completeExceptionally(e));
+            if (e instanceof Error error) {
+                throw error;
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+}
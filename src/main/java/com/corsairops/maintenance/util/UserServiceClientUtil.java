@@ -1,56 +1,157 @@
 package com.corsairops.maintenance.util;
 
-import com.corsairops.shared.client.UserServiceClient;
 import com.corsairops.shared.dto.User;
-import lombok.RequiredArgsConstructor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.HttpClientErrorException;
 
-import java.util.List;
-import java.util.Map;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class UserServiceClientUtil {
-    private final UserServiceClient userServiceClient;
+    private final UserBatchLoader userBatchLoader;
+    private final EnrichmentMetrics enrichmentMetrics;
+    private final Cache<String, User> userCache;
+    private final Cache<String, User> placeholderCache;
+    private final Duration timeout;
+
+    public UserServiceClientUtil(UserBatchLoader userBatchLoader,
+                                 EnrichmentMetrics enrichmentMetrics,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${user-cache.maximum-size:10000}") long maximumSize,
+                                 @Value("${user-cache.expire-after-write:10m}") Duration expireAfterWrite,
+                                 @Value("${user-cache.placeholder-ttl:30s}") Duration placeholderTtl,
+                                 @Value("${enrichment.timeout:3s}") Duration timeout) {
+        this.userBatchLoader = userBatchLoader;
+        this.enrichmentMetrics = enrichmentMetrics;
+        this.timeout = timeout;
+        this.userCache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        this.placeholderCache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(placeholderTtl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, userCache, "users");
+        CaffeineCacheMetrics.monitor(meterRegistry, placeholderCache, "user-placeholders");
+    }
 
     public User getUserById(String id) {
+        if (id == null || id.isEmpty()) {
+            return null;
+        }
+
+        User cachedUser = getCachedUser(id);
+        if (cachedUser != null) {
+            return cachedUser;
+        }
+
         try {
             log.info("Fetching user with id {} from User Service", id);
-            if (id == null || id.isEmpty()) {
-                return null;
+            User user = join(userBatchLoader.load(id));
+            if (user == null) {
+                return cachePlaceholder(id, "not_found");
             }
-            return userServiceClient.getUserById(id);
-        } catch (HttpClientErrorException e) {
+            userCache.put(id, user);
+            return user;
+        } catch (RuntimeException e) {
+            // Client errors, 5xx responses and connection failures or timeouts alike
             log.error("Error fetching user with id {} from User Service: {}", id, e.getMessage());
-            return getUserPlaceholder(id);
+            return cachePlaceholder(id, "error");
         }
     }
 
+    /**
+     * Get the given users, serving cached users and placeholders directly. Missing ids are fetched through the
+     * {@link UserBatchLoader}, which coalesces them with lookups from concurrent requests.
+     *
+     * @param ids the user ids to fetch
+     * @return a map of user id to user or placeholder
+     */
     public Map<String, User> getUsersMap(Set<String> ids) {
-        try {
-            if (ids.isEmpty()) {
-                return Map.of();
+        enrichmentMetrics.recordFanOut("users", ids.size());
+        Map<String, User> users = new HashMap<>();
+        Set<String> missingIds = new HashSet<>();
+        for (String id : ids) {
+            if (id == null) {
+                continue;
             }
+            User cachedUser = getCachedUser(id);
+            if (cachedUser != null) {
+                users.put(id, cachedUser);
+            } else {
+                missingIds.add(id);
+            }
+        }
 
-            String idsParam = String.join(",", ids);
-            Map<String, User> users = userServiceClient.getUsersByIds(idsParam, true)
-                    .stream()
-                    .collect(Collectors.toMap(User::id, user -> user));
-            ids.forEach(id -> users.putIfAbsent(id, getUserPlaceholder(id)));
-
+        if (missingIds.isEmpty()) {
             return users;
-        } catch (HttpClientErrorException e) {
+        }
+
+        try {
+            join(userBatchLoader.loadMany(missingIds)).forEach((id, user) -> {
+                userCache.put(id, user);
+                users.put(id, user);
+            });
+            missingIds.forEach(id -> users.computeIfAbsent(id, missingId -> cachePlaceholder(missingId, "not_found")));
+        } catch (RuntimeException e) {
             log.error("Error fetching users from User Service: {}", e.getMessage());
-            return ids.stream().collect(Collectors.toMap(id -> id, this::getUserPlaceholder));
+            missingIds.forEach(id -> users.put(id, cachePlaceholder(id, "error")));
         }
+        return users;
+    }
+
+    /**
+     * Wait for a batched lookup for at most {@code enrichment.timeout}, the same deadline the asset lookups get. A
+     * timeout fails the lookup, so the callers fall back to placeholders.
+     */
+    private <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new CompletionException("User Service did not answer within " + timeout, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new CompletionException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        }
+    }
+
+    private User getCachedUser(String id) {
+        User user = userCache.getIfPresent(id);
+        return user != null ? user : placeholderCache.getIfPresent(id);
+    }
+
+    /**
+     * Placeholders are cached separately with a short TTL, so an unknown user or a User Service outage is not
+     * retried on every request but real users replace them soon after.
+     */
+    private User cachePlaceholder(String userId, String reason) {
+        enrichmentMetrics.recordPlaceholder("user", reason);
+        User placeholder = getUserPlaceholder(userId);
+        placeholderCache.put(userId, placeholder);
+        return placeholder;
     }
 
     private User getUserPlaceholder(String userId) {
         return new User(userId, null, null, null, null, true, null, List.of());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1 @@
+ALTER TABLE maintenance_orders ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,10 @@
+-- Every order update sets updated_at, so indexing it rules out HOT updates. No listing sorts on updated_at, and the
+-- updated_at range filters are always combined with a created_at or priority ordering served by other indexes.
+DROP INDEX IF EXISTS idx_orders_updated_at_id;
+
+-- The open-status predicate cannot be proven against the bound status list of a generic plan, so the planner falls
+-- back to idx_orders_status_priority_id anyway.
+DROP INDEX IF EXISTS idx_orders_open_priority_id;
+
+-- An asset only has a handful of orders; idx_orders_asset_created_at_id finds them and sorting by priority is trivial.
+DROP INDEX IF EXISTS idx_orders_asset_priority_id;
@@ -0,0 +1,7 @@
+CREATE INDEX idx_orders_created_at_id ON maintenance_orders(created_at DESC, id DESC);
+CREATE INDEX idx_orders_priority_id ON maintenance_orders(priority DESC, id DESC);
+CREATE INDEX idx_orders_asset_created_at_id ON maintenance_orders(asset_id, created_at DESC, id DESC);
+CREATE INDEX idx_orders_asset_priority_id ON maintenance_orders(asset_id, priority DESC, id DESC);
+
+-- Covered by the asset_id prefixed indexes above.
+DROP INDEX IF EXISTS idx_asset_id;
@@ -0,0 +1,12 @@
+CREATE INDEX idx_orders_status_created_at_id ON maintenance_orders(status, created_at DESC, id DESC);
+CREATE INDEX idx_orders_status_priority_id ON maintenance_orders(status, priority DESC, id DESC);
+CREATE INDEX idx_orders_open_priority_id ON maintenance_orders(priority DESC, id DESC)
+    WHERE status IN ('PENDING', 'IN_PROGRESS');
+CREATE INDEX idx_orders_placed_by_created_at_id ON maintenance_orders(placed_by, created_at DESC, id DESC);
+CREATE INDEX idx_orders_completed_by_created_at_id ON maintenance_orders(completed_by, created_at DESC, id DESC)
+    WHERE completed_by IS NOT NULL;
+CREATE INDEX idx_orders_updated_at_id ON maintenance_orders(updated_at DESC, id DESC);
+
+-- Covered by the status and priority prefixed indexes above.
+DROP INDEX IF EXISTS idx_status;
+DROP INDEX IF EXISTS idx_priority;
@@ -0,0 +1,2 @@
+-- Lets Hibernate reserve ids in blocks of 50 (see Order.id) so order inserts can be JDBC batched.
+ALTER SEQUENCE maintenance_orders_id_seq INCREMENT BY 50;
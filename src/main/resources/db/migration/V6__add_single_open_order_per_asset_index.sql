@@ -0,0 +1,25 @@
+-- The index cannot be built while an asset has several open orders. Fail with the affected assets instead of changing
+-- data; scripts/cancel_duplicate_open_orders.sql resolves them once an operator has reviewed the orders.
+DO $$
+DECLARE
+    duplicate_assets TEXT;
+BEGIN
+    SELECT string_agg(asset_id, ', ' ORDER BY asset_id)
+    INTO duplicate_assets
+    FROM (
+        SELECT asset_id
+        FROM maintenance_orders
+        WHERE status IN ('PENDING', 'IN_PROGRESS')
+        GROUP BY asset_id
+        HAVING count(*) > 1
+    ) duplicates;
+
+    IF duplicate_assets IS NOT NULL THEN
+        RAISE EXCEPTION 'Assets with more than one open maintenance order: %', duplicate_assets
+            USING HINT = 'Close the extra orders, for example with scripts/cancel_duplicate_open_orders.sql, then restart.';
+    END IF;
+END
+$$;
+
+CREATE UNIQUE INDEX uq_orders_open_asset_id ON maintenance_orders(asset_id)
+    WHERE status IN ('PENDING', 'IN_PROGRESS');
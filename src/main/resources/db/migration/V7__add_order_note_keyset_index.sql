@@ -0,0 +1,4 @@
+CREATE INDEX idx_order_notes_order_created_at_id ON maintenance_order_notes(order_id, created_at DESC, id DESC);
+
+-- Covered by the order_id prefixed index above.
+DROP INDEX IF EXISTS idx_order_id;
@@ -0,0 +1,2 @@
+-- Lets the per-asset summary aggregate run as an index-only scan.
+CREATE INDEX idx_orders_asset_status_summary ON maintenance_orders(asset_id, status) INCLUDE (priority, updated_at);
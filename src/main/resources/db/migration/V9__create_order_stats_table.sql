@@ -0,0 +1,12 @@
+CREATE TABLE IF NOT EXISTS maintenance_order_stats (
+    day DATE NOT NULL,
+    status VARCHAR(50) NOT NULL,
+    priority INT NOT NULL,
+    order_count BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (day, status, priority)
+);
+
+INSERT INTO maintenance_order_stats (day, status, priority, order_count)
+SELECT CAST(created_at AS DATE), status, priority, count(*)
+FROM maintenance_orders
+GROUP BY CAST(created_at AS DATE), status, priority;
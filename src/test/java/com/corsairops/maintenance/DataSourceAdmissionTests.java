@@ -0,0 +1,54 @@
+package com.corsairops.maintenance;
+
+import com.corsairops.maintenance.util.AdmissionControlDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "datasource.admission.enabled=true",
+        "datasource.admission.max-concurrency=2",
+        "datasource.admission.timeout=200ms"
+})
+@Import(TestcontainersConfiguration.class)
+public class DataSourceAdmissionTests {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void givenAdmissionEnabled_whenGetDataSource_thenAdmissionControlled() {
+        assertThat(dataSource, instanceOf(AdmissionControlDataSource.class));
+    }
+
+    @Test
+    void givenAllPermitsHeld_whenGetConnection_thenWaitsThenFails() throws Exception {
+        try (Connection first = dataSource.getConnection(); Connection second = dataSource.getConnection()) {
+            assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        }
+    }
+
+    @Test
+    void givenPermitReleased_whenGetConnection_thenAdmitted() throws Exception {
+        try (Connection first = dataSource.getConnection()) {
+            Connection second = dataSource.getConnection();
+            second.close();
+            // Closing twice must not hand out an extra permit.
+            second.close();
+
+            try (Connection third = dataSource.getConnection()) {
+                assertThat(third.isValid(1), is(true));
+                assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+            }
+        }
+    }
+}
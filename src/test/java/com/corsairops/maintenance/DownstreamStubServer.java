@@ -0,0 +1,143 @@
+package com.corsairops.maintenance;
+
+import com.corsairops.shared.dto.User;
+import com.corsairops.shared.dto.asset.AssetResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.corsairops.shared.dto.asset.AssetStatus.ACTIVE;
+import static com.corsairops.shared.dto.asset.AssetType.GROUND_VEHICLE;
+
+/**
+ * Embedded HTTP stand-in for the Asset and User Services. Every asset UUID and user id resolves, after a fixed
+ * latency, so load runs measure this service rather than its neighbours. Requests are routed on the resource name in
+ * the path; user ids are read from an {@code ids} query parameter or the last path segment.
+ */
+class DownstreamStubServer implements AutoCloseable {
+    private static final LocalDateTime TIMESTAMP = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    private final HttpServer server;
+    private final Duration latency;
+    private final ObjectMapper objectMapper = JsonMapper.builder()
+            .findAndAddModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private final AtomicLong assetRequests = new AtomicLong();
+    private final AtomicLong userRequests = new AtomicLong();
+
+    private DownstreamStubServer(Duration latency) throws IOException {
+        this.latency = latency;
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        this.server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        this.server.createContext("/", this::handle);
+    }
+
+    static DownstreamStubServer start(Duration latency) {
+        try {
+            DownstreamStubServer stubServer = new DownstreamStubServer(latency);
+            stubServer.server.start();
+            return stubServer;
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start downstream stub server", e);
+        }
+    }
+
+    String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    long assetRequests() {
+        return assetRequests.get();
+    }
+
+    long userRequests() {
+        return userRequests.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            Thread.sleep(latency);
+            String path = exchange.getRequestURI().getPath();
+            String lastSegment = path.substring(path.lastIndexOf('/') + 1);
+            if (path.contains("user")) {
+                userRequests.incrementAndGet();
+                String ids = queryParam(exchange, "ids");
+                List<User> users = Arrays.stream((ids != null ? ids : lastSegment).split(","))
+                        .filter(id -> !id.isBlank())
+                        .map(DownstreamStubServer::user)
+                        .toList();
+                respond(exchange, 200, users);
+            } else if (path.contains("asset") && isUuid(lastSegment)) {
+                assetRequests.incrementAndGet();
+                respond(exchange, 200, asset(UUID.fromString(lastSegment)));
+            } else {
+                respond(exchange, 404, null);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void respond(HttpExchange exchange, int status, Object body) throws IOException {
+        if (body == null) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        byte[] bytes = objectMapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static String queryParam(HttpExchange exchange, String name) {
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null) {
+            return null;
+        }
+        return Arrays.stream(query.split("&"))
+                .filter(pair -> pair.startsWith(name + "="))
+                .map(pair -> URLDecoder.decode(pair.substring(name.length() + 1), StandardCharsets.UTF_8))
+                .findFirst()
+                .orElse(null);
+    }
+
+    private static boolean isUuid(String value) {
+        try {
+            UUID.fromString(value);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static AssetResponse asset(UUID id) {
+        return new AssetResponse(id, "Asset " + id, GROUND_VEHICLE, ACTIVE, 0.0, 0.0, TIMESTAMP, TIMESTAMP);
+    }
+
+    private static User user(String id) {
+        return new User(id, "user-" + id, id + "@corsairops.test", "Load", "Tester", true, null, List.of("TECHNICIAN"));
+    }
+}
@@ -1,13 +1,19 @@
 package com.corsairops.maintenance;
 
+import com.corsairops.maintenance.dto.BulkOrderRequest;
+import com.corsairops.maintenance.dto.BulkStatusRequest;
+import com.corsairops.maintenance.dto.OrderFilter;
 import com.corsairops.maintenance.dto.OrderRequest;
 import com.corsairops.maintenance.dto.OrderResponse;
+import com.corsairops.maintenance.model.Order;
 import com.corsairops.maintenance.model.OrderStatus;
+import com.corsairops.maintenance.repository.OrderQueryRepository;
 import com.corsairops.maintenance.repository.OrderRepository;
 import com.corsairops.shared.client.AssetServiceClient;
 import com.corsairops.shared.client.UserServiceClient;
 import com.corsairops.shared.dto.User;
 import com.corsairops.shared.dto.asset.AssetResponse;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.restassured.RestAssured;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -23,12 +29,14 @@ import org.springframework.web.client.HttpClientErrorException;
 
 import java.time.ZoneOffset;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 import static com.corsairops.shared.dto.asset.AssetStatus.*;
 import static com.corsairops.shared.dto.asset.AssetType.*;
 import static java.time.LocalDateTime.*;
 import static java.util.UUID.*;
+import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 import static com.corsairops.maintenance.RestAssuredUtil.*;
 
@@ -67,6 +75,9 @@ public class OrderIntegrationTests {
     @Autowired
     private OrderRepository orderRepository;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @MockitoBean
     private AssetServiceClient assetServiceClient;
 
@@ -136,6 +147,48 @@ public class OrderIntegrationTests {
                 .statusCode(404);
     }
 
+    @Test
+    void givenMixedRequests_whenCreateOrdersInBulk_thenResultPerOrder() {
+        var request = new BulkOrderRequest(List.of(
+                new OrderRequest(VALID_ASSET_ID, "Routine check", OrderStatus.PENDING, 5),
+                new OrderRequest(INVALID_ASSET_ID, "Engine repair", OrderStatus.PENDING, 4),
+                new OrderRequest(VALID_ASSET_ID, "Second check", OrderStatus.PENDING, 3)
+        ));
+
+        jsonRequest(request)
+                .header("X-User-Id", VALID_USER_ID)
+                .when()
+                .post("/bulk")
+                .then()
+                .statusCode(200)
+                .body("created", equalTo(1))
+                .body("rejected", equalTo(2))
+                .body("results.status", contains("CREATED", "ASSET_NOT_FOUND", "OPEN_ORDER_EXISTS"))
+                .body("results[0].orderId", notNullValue());
+
+        assertThat(orderRepository.count(), equalTo(1L));
+    }
+
+    @Test
+    void givenOpenOrder_whenCreateClosedOrdersInBulk_thenOnlyOpenOrderRejected() {
+        createOrder(new OrderRequest(VALID_ASSET_ID, "Routine check", OrderStatus.PENDING, 5));
+        var request = new BulkOrderRequest(List.of(
+                new OrderRequest(VALID_ASSET_ID, "Backfilled repair", OrderStatus.COMPLETED, 2),
+                new OrderRequest(VALID_ASSET_ID, "Cancelled request", OrderStatus.CANCELLED, 1),
+                new OrderRequest(VALID_ASSET_ID, "Second check", OrderStatus.IN_PROGRESS, 3)
+        ));
+
+        jsonRequest(request)
+                .header("X-User-Id", VALID_USER_ID)
+                .when()
+                .post("/bulk")
+                .then()
+                .statusCode(200)
+                .body("created", equalTo(2))
+                .body("rejected", equalTo(1))
+                .body("results.status", contains("CREATED", "CREATED", "OPEN_ORDER_EXISTS"));
+    }
+
     @Test
     void givenNoOrders_whenGetOrders_thenEmptyList() {
         jsonRequest()
@@ -173,6 +226,80 @@ public class OrderIntegrationTests {
                 .body("asset.id", hasItems(VALID_ASSET_ID, "223e4567-e89b-12d3-a456-426614174000"));
     }
 
+    @Test
+    void givenFailingAssetLookup_whenGetOrders_thenOnlyFailingAssetIsPlaceholder() {
+        createOrder(new OrderRequest(VALID_ASSET_ID, "Routine check", OrderStatus.PENDING, 5));
+        orderRepository.save(Order.builder()
+                .assetId(INVALID_ASSET_ID)
+                .description("Engine repair")
+                .status(OrderStatus.IN_PROGRESS)
+                .priority(4)
+                .placedBy(VALID_USER_ID)
+                .build());
+
+        jsonRequest()
+                .when()
+                .get()
+                .then()
+                .statusCode(200)
+                .body("", hasSize(2))
+                .body("find { it.asset.id == '%s' }.asset.name".formatted(VALID_ASSET_ID), equalTo("Tank A"))
+                .body("find { it.asset.id == '%s' }.asset.name".formatted(INVALID_ASSET_ID), nullValue());
+    }
+
+    @Test
+    void givenSlowAssetLookup_whenGetOrderById_thenPlaceholderWithinTimeout() {
+        String slowAssetId = randomUUID().toString();
+        Mockito.when(assetServiceClient.getAssetById(UUID.fromString(slowAssetId)))
+                .thenAnswer(invocation -> {
+                    Thread.sleep(10_000);
+                    return MOCK_ASSET;
+                });
+        Order order = orderRepository.save(Order.builder()
+                .assetId(slowAssetId)
+                .description("Engine repair")
+                .status(OrderStatus.PENDING)
+                .priority(4)
+                .placedBy(VALID_USER_ID)
+                .build());
+
+        // enrichment.timeout is 3s, so the lookup is abandoned long before the stub answers.
+        jsonRequest()
+                .when()
+                .get("/{id}", order.getId())
+                .then()
+                .statusCode(200)
+                .time(lessThan(8_000L))
+                .body("asset.id", equalTo(slowAssetId))
+                .body("asset.name", nullValue());
+    }
+
+    @Test
+    void givenSlowUserLookup_whenGetOrderById_thenPlaceholderWithinTimeout() {
+        String slowUserId = "slow-" + randomUUID();
+        Mockito.when(userServiceClient.getUsersByIds(slowUserId, true))
+                .thenAnswer(invocation -> {
+                    Thread.sleep(10_000);
+                    return List.of(MOCK_USER);
+                });
+        Order order = orderRepository.save(Order.builder()
+                .assetId(VALID_ASSET_ID)
+                .description("Engine repair")
+                .status(OrderStatus.COMPLETED)
+                .priority(4)
+                .placedBy(slowUserId)
+                .build());
+
+        // enrichment.timeout caps the user stage as well, so the placeholder is served long before the stub answers.
+        jsonRequest()
+                .when()
+                .get("/{id}", order.getId())
+                .then()
+                .statusCode(200)
+                .time(lessThan(8_000L))
+                .body("placedBy.id", equalTo(slowUserId));
+    }
+
     @Test
     void givenOrders_whenGetOrdersByAssetId_thenListOfOrders() {
         var request1 = new OrderRequest(VALID_ASSET_ID, "Routine check", OrderStatus.PENDING, 5);
@@ -201,6 +328,127 @@ public class OrderIntegrationTests {
                 .body("asset.id", hasItem(VALID_ASSET_ID));
     }
 
+    @Test
+    void givenMoreOrdersThanLimit_whenGetOrders_thenPagedWithCursor() {
+        for (int i = 1; i <= 3; i++) {
+            orderRepository.save(Order.builder()
+                    .assetId(randomUUID().toString())
+                    .description("Order " + i)
+                    .status(OrderStatus.PENDING)
+                    .priority(i)
+                    .placedBy(VALID_USER_ID)
+                    .build());
+        }
+
+        String cursor = jsonRequest()
+                .queryParam("limit", 2)
+                .when()
+                .get()
+                .then()
+                .statusCode(200)
+                .body("", hasSize(2))
+                .body("description", contains("Order 3", "Order 2"))
+                .header("X-Next-Cursor", notNullValue())
+                .extract()
+                .header("X-Next-Cursor");
+
+        jsonRequest()
+                .queryParam("limit", 2)
+                .queryParam("cursor", cursor)
+                .when()
+                .get()
+                .then()
+                .statusCode(200)
+                .body("", hasSize(1))
+                .body("description", contains("Order 1"))
+                .header("X-Next-Cursor", nullValue());
+    }
+
+    @Test
+    void givenFilters_whenGetOrders_thenOnlyMatchingOrders() {
+        saveOrder("Pending low", OrderStatus.PENDING, 1);
+        saveOrder("Pending high", OrderStatus.PENDING, 5);
+        saveOrder("In progress high", OrderStatus.IN_PROGRESS, 4);
+        saveOrder("Completed high", OrderStatus.COMPLETED, 5);
+
+        jsonRequest()
+                .queryParam("status", "PENDING,IN_PROGRESS")
+                .queryParam("minPriority", 4)
+                .queryParam("placedBy", VALID_USER_ID)
+                .when()
+                .get()
+                .then()
+                .statusCode(200)
+                .body("", hasSize(2))
+                .body("description", containsInAnyOrder("Pending high", "In progress high"));
+    }
+
+    @Test
+    void givenAssetOrders_whenGetSummary_thenCountsPerAsset() {
+        String assetId = randomUUID().toString();
+        String assetWithoutOrders = randomUUID().toString();
+        saveOrder(assetId, "In progress", OrderStatus.IN_PROGRESS, 4);
+        saveOrder(assetId, "Completed 1", OrderStatus.COMPLETED, 5);
+        saveOrder(assetId, "Completed 2", OrderStatus.COMPLETED, 2);
+        saveOrder(assetId, "Cancelled", OrderStatus.CANCELLED, 3);
+
+        jsonRequest()
+                .queryParam("assetIds", assetId + "," + assetWithoutOrders)
+                .when()
+                .get("/summary")
+                .then()
+                .statusCode(200)
+                .body("", hasSize(2))
+                .body("[0].assetId", equalTo(assetId))
+                .body("[0].openOrders", equalTo(1))
+                .body("[0].inProgressOrders", equalTo(1))
+                .body("[0].completedLast30Days", equalTo(2))
+                .body("[0].highestOpenPriority", equalTo(4))
+                .body("[1].assetId", equalTo(assetWithoutOrders))
+                .body("[1].openOrders", equalTo(0))
+                .body("[1].highestOpenPriority", nullValue());
+    }
+
+    @Test
+    void givenOrders_whenExportOrders_thenOneLinePerOrder() {
+        saveOrder("Pending", OrderStatus.PENDING, 1);
+        saveOrder("In progress", OrderStatus.IN_PROGRESS, 2);
+        saveOrder("Completed", OrderStatus.COMPLETED, 3);
+
+        String ndjson = jsonRequest()
+                .when()
+                .get("/export")
+                .then()
+                .statusCode(200)
+                .contentType("application/x-ndjson")
+                .extract()
+                .asString();
+        assertThat(ndjson.lines().toList(), hasSize(3));
+
+        String csv = jsonRequest()
+                .queryParam("format", "CSV")
+                .queryParam("status", "COMPLETED")
+                .when()
+                .get("/export")
+                .then()
+                .statusCode(200)
+                .contentType("text/csv")
+                .extract()
+                .asString();
+        assertThat(csv.lines().toList(), hasSize(2));
+        assertThat(csv.lines().toList().get(1), containsString("Completed"));
+    }
+
+    @Test
+    void givenInvalidCursor_whenGetOrders_thenBadRequest() {
+        jsonRequest()
+                .queryParam("cursor", "not-a-cursor")
+                .when()
+                .get()
+                .then()
+                .statusCode(400);
+    }
+
     @Test
     void givenInvalidId_whenGetOrderById_thenNotFound() {
         var invalidId = 999L;
@@ -229,6 +477,155 @@ public class OrderIntegrationTests {
                 .body("priority", equalTo(3));
     }
 
+    @Test
+    void givenMatchingETag_whenGetOrderById_thenNotModifiedUntilUpdated() {
+        var createdOrder = createOrder(new OrderRequest(VALID_ASSET_ID, "Routine Check", OrderStatus.PENDING, 3));
+
+        String etag = jsonRequest()
+                .when()
+                .get("/{id}", createdOrder.id())
+                .then()
+                .statusCode(200)
+                .header("ETag", notNullValue())
+                .extract()
+                .header("ETag");
+
+        jsonRequest()
+                .header("If-None-Match", etag)
+                .when()
+                .get("/{id}", createdOrder.id())
+                .then()
+                .statusCode(304)
+                .header("ETag", equalTo(etag));
+
+        jsonRequest(new OrderRequest(VALID_ASSET_ID, "Routine Check", OrderStatus.IN_PROGRESS, 3))
+                .header("X-User-Id", VALID_USER_ID)
+                .when()
+                .put("/{id}", createdOrder.id())
+                .then()
+                .statusCode(200);
+
+        jsonRequest()
+                .header("If-None-Match", etag)
+                .when()
+                .get("/{id}", createdOrder.id())
+                .then()
+                .statusCode(200)
+                .header("ETag", not(equalTo(etag)))
+                .body("status", equalTo("IN_PROGRESS"));
+    }
+
+    @Test
+    void givenIfMatch_whenUpdateOrder_thenOnlyCurrentVersionUpdated() {
+        var createdOrder = createOrder(new OrderRequest(VALID_ASSET_ID, "Routine Check", OrderStatus.PENDING, 3));
+        String etag = jsonRequest()
+                .when()
+                .get("/{id}", createdOrder.id())
+                .then()
+                .statusCode(200)
+                .extract()
+                .header("ETag");
+
+        String newEtag = jsonRequest(new OrderRequest(VALID_ASSET_ID, "First update", OrderStatus.IN_PROGRESS, 3))
+                .header("X-User-Id", VALID_USER_ID)
+                .header("If-Match", etag)
+                .when()
+                .put("/{id}", createdOrder.id())
+                .then()
+                .statusCode(200)
+                .body("description", equalTo("First update"))
+                .header("ETag", not(equalTo(etag)))
+                .extract()
+                .header("ETag");
+
+        jsonRequest(new OrderRequest(VALID_ASSET_ID, "Lost update", OrderStatus.IN_PROGRESS, 3))
+                .header("X-User-Id", VALID_USER_ID)
+                .header("If-Match", etag)
+                .when()
+                .put("/{id}", createdOrder.id())
+                .then()
+                .statusCode(412);
+
+        jsonRequest()
+                .header("If-None-Match", newEtag)
+                .when()
+                .get("/{id}", createdOrder.id())
+                .then()
+                .statusCode(304);
+    }
+
+    @Test
+    void givenOrders_whenGetOrders_thenHotPathsTimed() {
+        saveOrder("Pending", OrderStatus.PENDING, 1);
+
+        jsonRequest()
+                .when()
+                .get()
+                .then()
+                .statusCode(200);
+
+        assertThat(meterRegistry.find("maintenance.repository.invocations")
+                .tag("class", OrderQueryRepository.class.getName())
+                .tag("method", "findPage")
+                .timer(), notNullValue());
+        assertThat(meterRegistry.find("maintenance.client.requests")
+                .tag("client", "asset-service")
+                .timer(), notNullValue());
+        assertThat(meterRegistry.find("maintenance.enrichment.fanout")
+                .tag("type", "assets")
+                .summary(), notNullValue());
+    }
+
+    @Test
+    void givenMatchingETag_whenGetOrders_thenNotModifiedWithoutEnrichment() {
+        saveOrder("Pending", OrderStatus.PENDING, 1);
+
+        String etag = jsonRequest()
+                .when()
+                .get()
+                .then()
+                .statusCode(200)
+                .extract()
+                .header("ETag");
+        Mockito.clearInvocations(userServiceClient);
+
+        jsonRequest()
+                .header("If-None-Match", etag)
+                .when()
+                .get()
+                .then()
+                .statusCode(304);
+
+        Mockito.verifyNoInteractions(userServiceClient);
+    }
+
+    @Test
+    void givenRepeatedReads_whenGetOrderById_thenAssetServedFromCache() {
+        // A fresh asset, so no entry from an earlier test is due for a background refresh
+        String assetId = randomUUID().toString();
+        Mockito.when(assetServiceClient.getAssetById(UUID.fromString(assetId)))
+                .thenReturn(MOCK_ASSET);
+        var createdOrder = createOrder(new OrderRequest(assetId, "Routine Check", OrderStatus.PENDING, 3));
+        // Warm the asset cache, then only count the repeated reads
+        jsonRequest()
+                .when()
+                .get("/{id}", createdOrder.id())
+                .then()
+                .statusCode(200);
+        Mockito.clearInvocations(assetServiceClient);
+
+        for (int i = 0; i < 3; i++) {
+            jsonRequest()
+                    .when()
+                    .get("/{id}", createdOrder.id())
+                    .then()
+                    .statusCode(200)
+                    .body("asset.name", equalTo("Tank A"));
+        }
+
+        Mockito.verify(assetServiceClient, Mockito.never()).getAssetById(UUID.fromString(assetId));
+    }
+
     @Test
     void givenInvalidId_whenUpdateOrder_thenNotFound() {
         var invalidId = 4499999L;
@@ -281,6 +678,20 @@ public class OrderIntegrationTests {
     }
 
 
+    private void saveOrder(String description, OrderStatus status, int priority) {
+        saveOrder(randomUUID().toString(), description, status, priority);
+    }
+
+    private void saveOrder(String assetId, String description, OrderStatus status, int priority) {
+        orderRepository.save(Order.builder()
+                .assetId(assetId)
+                .description(description)
+                .status(status)
+                .priority(priority)
+                .placedBy(VALID_USER_ID)
+                .build());
+    }
+
     private OrderResponse createOrder(OrderRequest request) {
         return jsonRequest(request)
                 .header("X-User-Id", VALID_USER_ID)
@@ -297,6 +708,68 @@ public class OrderIntegrationTests {
                 .as(OrderResponse.class);
     }
 
+    @Test
+    void givenOpenOrders_whenCloseOrdersInBulk_thenOnlyOpenOrdersClosed() {
+        saveOrder("Pending", OrderStatus.PENDING, 1);
+        saveOrder("In progress", OrderStatus.IN_PROGRESS, 2);
+        saveOrder("Cancelled", OrderStatus.CANCELLED, 3);
+        var request = new BulkStatusRequest(null,
+                new OrderFilter(null, null, null, null, null, null, null, null, VALID_USER_ID, null),
+                OrderStatus.COMPLETED);
+
+        jsonRequest(request)
+                .header("X-User-Id", VALID_USER_ID)
+                .when()
+                .patch("/status")
+                .then()
+                .statusCode(200)
+                .body("updated", equalTo(2))
+                .body("orderIds", hasSize(2))
+                .body("orders", nullValue());
+
+        jsonRequest()
+                .queryParam("status", "COMPLETED")
+                .queryParam("completedBy", VALID_USER_ID)
+                .when()
+                .get()
+                .then()
+                .statusCode(200)
+                .body("description", containsInAnyOrder("Pending", "In progress"));
+    }
+
+    @Test
+    void givenBlankFilter_whenCloseOrdersInBulk_thenBadRequestAndOrdersUntouched() {
+        saveOrder("Pending", OrderStatus.PENDING, 1);
+        List<OrderFilter> blankFilters = List.of(
+                new OrderFilter("", null, null, null, null, null, null, null, null, null),
+                new OrderFilter(null, Set.of(), null, null, null, null, null, null, null, null),
+                new OrderFilter(null, null, null, null, null, null, null, null, " ", null)
+        );
+
+        for (OrderFilter filter : blankFilters) {
+            jsonRequest(new BulkStatusRequest(null, filter, OrderStatus.CANCELLED))
+                    .header("X-User-Id", VALID_USER_ID)
+                    .when()
+                    .patch("/status")
+                    .then()
+                    .statusCode(400);
+        }
+
+        assertThat(orderRepository.findAll().stream().map(Order::getStatus).toList(), contains(OrderStatus.PENDING));
+    }
+
+    @Test
+    void givenOpenTargetStatus_whenCloseOrdersInBulk_thenBadRequest() {
+        var request = new BulkStatusRequest(List.of(1L), null, OrderStatus.IN_PROGRESS);
+
+        jsonRequest(request)
+                .header("X-User-Id", VALID_USER_ID)
+                .when()
+                .patch("/status")
+                .then()
+                .statusCode(400);
+    }
+
     @Test
     void givenInvalidId_whenDeleteOrder_thenNotFound() {
         var invalidId = 999L;
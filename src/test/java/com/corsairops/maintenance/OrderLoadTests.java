@@ -0,0 +1,388 @@
+package com.corsairops.maintenance;
+
+import com.corsairops.maintenance.dto.OrderNoteRequest;
+import com.corsairops.maintenance.dto.OrderRequest;
+import com.corsairops.maintenance.model.Order;
+import com.corsairops.maintenance.model.OrderStatus;
+import com.corsairops.maintenance.repository.OrderRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Closed-model load test: a fixed number of workers issue a weighted mix of reads and writes against the running
+ * service, backed by the Testcontainers Postgres and {@link DownstreamStubServer} in place of the Asset and User
+ * Services. Tagged {@code load} and excluded from the default build; run it with {@code mvn -Pload test}.
+ * <p>
+ * Runs are tuned with system properties, for example
+ * {@code -Dload.concurrency=64 -Dload.duration=PT2M -Dload.mix=list:40,get:40,note:15,create:3,update:2}. Each run
+ * writes p50/p95/p99 latency and throughput per operation to {@code target/load-reports/<load.label>.json} so that
+ * runs from different builds can be diffed.
+ */
+@Slf4j
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Import(TestcontainersConfiguration.class)
+public class OrderLoadTests {
+    private static final LoadSettings SETTINGS = LoadSettings.fromSystemProperties();
+    private static final OrderStatus[] OPEN_STATUSES = {OrderStatus.PENDING, OrderStatus.IN_PROGRESS};
+    private static final OrderStatus[] CLOSED_STATUSES = {OrderStatus.COMPLETED, OrderStatus.CANCELLED};
+    private static final DownstreamStubServer DOWNSTREAM = DownstreamStubServer.start(SETTINGS.stubLatency());
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private HttpClient httpClient;
+    private List<Order> seededOrders;
+    private List<Order> openOrders;
+    private List<String> userIds;
+
+    @DynamicPropertySource
+    static void downstreamServices(DynamicPropertyRegistry registry) {
+        registry.add("asset-service.url", DOWNSTREAM::baseUrl);
+        registry.add("user-service.url", DOWNSTREAM::baseUrl);
+    }
+
+    @AfterAll
+    static void stopDownstream() {
+        DOWNSTREAM.close();
+    }
+
+    @BeforeEach
+    void setup() {
+        httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        userIds = new ArrayList<>(SETTINGS.users());
+        for (int i = 0; i < SETTINGS.users(); i++) {
+            userIds.add(UUID.randomUUID().toString());
+        }
+        List<String> assetIds = new ArrayList<>(SETTINGS.assets());
+        for (int i = 0; i < SETTINGS.assets(); i++) {
+            assetIds.add(UUID.randomUUID().toString());
+        }
+
+        // An asset may only have one open order, so the first order per asset is open and the rest are closed.
+        List<Order> orders = new ArrayList<>(SETTINGS.seedOrders());
+        for (int i = 0; i < SETTINGS.seedOrders(); i++) {
+            boolean open = i < assetIds.size();
+            orders.add(Order.builder()
+                    .assetId(assetIds.get(i % assetIds.size()))
+                    .description("Seeded order " + i)
+                    .status(open ? OPEN_STATUSES[i % 2] : CLOSED_STATUSES[i % 2])
+                    .priority(i % 5 + 1)
+                    .placedBy(userIds.get(i % userIds.size()))
+                    .build());
+        }
+        seededOrders = orderRepository.saveAll(orders);
+        openOrders = seededOrders.subList(0, Math.min(assetIds.size(), seededOrders.size()));
+    }
+
+    @AfterEach
+    void cleanup() {
+        httpClient.close();
+        jdbcTemplate.execute("TRUNCATE TABLE maintenance_order_notes, maintenance_orders, maintenance_order_stats");
+    }
+
+    @Test
+    void givenMixedWorkload_whenRunAtConcurrency_thenReportLatencies() throws Exception {
+        log.info("Load run '{}': {} workers, warmup {}, duration {}, mix {}", SETTINGS.label(), SETTINGS.concurrency(),
+                SETTINGS.warmup(), SETTINGS.duration(), SETTINGS.mix());
+        runPhase(SETTINGS.warmup());
+        long assetRequestsBefore = DOWNSTREAM.assetRequests();
+        long userRequestsBefore = DOWNSTREAM.userRequests();
+        Map<Operation, OperationStats> stats = runPhase(SETTINGS.duration());
+
+        Map<String, Object> report = report(stats, DOWNSTREAM.assetRequests() - assetRequestsBefore,
+                DOWNSTREAM.userRequests() - userRequestsBefore);
+        Path reportFile = writeReport(report);
+        log.info("Load report written to {}:\n{}", reportFile, objectMapper.writerWithDefaultPrettyPrinter()
+                .writeValueAsString(report.get("operations")));
+
+        long requests = stats.values().stream().mapToLong(OperationStats::count).sum();
+        long errors = stats.values().stream().mapToLong(OperationStats::errors).sum();
+        assertThat(requests, greaterThan(0L));
+        assertThat((double) errors / requests, lessThanOrEqualTo(SETTINGS.maxErrorRate()));
+    }
+
+    private Map<Operation, OperationStats> runPhase(Duration duration) throws InterruptedException {
+        Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new OperationStats());
+        }
+        long deadline = System.nanoTime() + duration.toNanos();
+        try (ExecutorService workers = Executors.newFixedThreadPool(SETTINGS.concurrency())) {
+            for (int i = 0; i < SETTINGS.concurrency(); i++) {
+                workers.execute(() -> {
+                    while (System.nanoTime() < deadline) {
+                        Operation operation = SETTINGS.nextOperation();
+                        long start = System.nanoTime();
+                        boolean success = execute(operation);
+                        stats.get(operation).record(System.nanoTime() - start, success);
+                    }
+                });
+            }
+            workers.shutdown();
+            if (!workers.awaitTermination(duration.toSeconds() + 60, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Load workers did not finish");
+            }
+        }
+        stats.values().forEach(operationStats -> operationStats.finish(duration));
+        return stats;
+    }
+
+    private boolean execute(Operation operation) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Order order = seededOrders.get(random.nextInt(seededOrders.size()));
+        String userId = userIds.get(random.nextInt(userIds.size()));
+        HttpRequest request = switch (operation) {
+            case LIST -> get("/api/maintenance/orders?status=PENDING,IN_PROGRESS&limit=" + SETTINGS.listLimit());
+            case GET -> get("/api/maintenance/orders/" + order.getId());
+            case NOTE -> post("/api/maintenance/orders/" + order.getId() + "/notes", userId,
+                    new OrderNoteRequest("Load note " + random.nextInt()));
+            case CREATE -> post("/api/maintenance/orders", userId, new OrderRequest(UUID.randomUUID().toString(),
+                    "Load order", OrderStatus.PENDING, random.nextInt(1, 6)));
+            case UPDATE -> {
+                // Only open orders are updated, so moving them between open statuses never conflicts.
+                Order openOrder = openOrders.get(random.nextInt(openOrders.size()));
+                yield put("/api/maintenance/orders/" + openOrder.getId(), new OrderRequest(openOrder.getAssetId(),
+                        "Updated by load test", OPEN_STATUSES[random.nextInt(2)], random.nextInt(1, 6)));
+            }
+        };
+        try {
+            int status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            return status < 400;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private HttpRequest get(String path) {
+        return request(path).GET().build();
+    }
+
+    private HttpRequest post(String path, String userId, Object body) {
+        return request(path)
+                .header("X-User-Id", userId)
+                .POST(jsonBody(body))
+                .build();
+    }
+
+    private HttpRequest put(String path, Object body) {
+        return request(path)
+                .PUT(jsonBody(body))
+                .build();
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json");
+    }
+
+    private HttpRequest.BodyPublisher jsonBody(Object body) {
+        try {
+            return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Map<String, Object> report(Map<Operation, OperationStats> stats, long assetRequests, long userRequests) {
+        Map<String, Object> operations = new LinkedHashMap<>();
+        stats.forEach((operation, operationStats) -> operations.put(operation.key(), operationStats.summary()));
+
+        long requests = stats.values().stream().mapToLong(OperationStats::count).sum();
+        long errors = stats.values().stream().mapToLong(OperationStats::errors).sum();
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("label", SETTINGS.label());
+        report.put("finishedAt", Instant.now().toString());
+        report.put("settings", SETTINGS.describe());
+        report.put("requests", requests);
+        report.put("errors", errors);
+        report.put("throughputPerSecond", round((double) requests / SETTINGS.duration().toMillis() * 1000));
+        report.put("downstreamAssetRequests", assetRequests);
+        report.put("downstreamUserRequests", userRequests);
+        report.put("operations", operations);
+        return report;
+    }
+
+    private Path writeReport(Map<String, Object> report) throws IOException {
+        Path reportFile = SETTINGS.reportDir().resolve(SETTINGS.label() + ".json");
+        Files.createDirectories(reportFile.getParent());
+        objectMapper.copy()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(reportFile.toFile(), report);
+        return reportFile;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    private enum Operation {
+        LIST, GET, NOTE, CREATE, UPDATE;
+
+        String key() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private static final class OperationStats {
+        // Latencies in microseconds, up to one minute at three significant digits
+        private final Histogram latencies = new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(1), 3);
+        private final LongAdder errors = new LongAdder();
+        private double throughputPerSecond;
+
+        void record(long nanos, boolean success) {
+            latencies.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(nanos), latencies.getHighestTrackableValue()));
+            if (!success) {
+                errors.increment();
+            }
+        }
+
+        void finish(Duration duration) {
+            throughputPerSecond = (double) count() / duration.toMillis() * 1000;
+        }
+
+        long count() {
+            return latencies.getTotalCount();
+        }
+
+        long errors() {
+            return errors.sum();
+        }
+
+        Map<String, Object> summary() {
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("requests", count());
+            summary.put("errors", errors());
+            summary.put("throughputPerSecond", round(throughputPerSecond));
+            summary.put("p50Ms", percentileMillis(50));
+            summary.put("p95Ms", percentileMillis(95));
+            summary.put("p99Ms", percentileMillis(99));
+            summary.put("maxMs", round(latencies.getMaxValue() / 1000.0));
+            return summary;
+        }
+
+        private double percentileMillis(double percentile) {
+            return round(latencies.getValueAtPercentile(percentile) / 1000.0);
+        }
+    }
+
+    private record LoadSettings(
+            int concurrency,
+            Duration warmup,
+            Duration duration,
+            Map<Operation, Integer> mix,
+            Duration stubLatency,
+            int seedOrders,
+            int assets,
+            int users,
+            int listLimit,
+            double maxErrorRate,
+            String label,
+            Path reportDir
+    ) {
+        static LoadSettings fromSystemProperties() {
+            return new LoadSettings(
+                    Integer.getInteger("load.concurrency", 32),
+                    Duration.parse(System.getProperty("load.warmup", "PT10S")),
+                    Duration.parse(System.getProperty("load.duration", "PT60S")),
+                    parseMix(System.getProperty("load.mix", "list:40,get:40,note:15,create:3,update:2")),
+                    Duration.parse(System.getProperty("load.stub-latency", "PT0.02S")),
+                    Integer.getInteger("load.seed-orders", 2000),
+                    Integer.getInteger("load.assets", 200),
+                    Integer.getInteger("load.users", 50),
+                    Integer.getInteger("load.list-limit", 50),
+                    Double.parseDouble(System.getProperty("load.max-error-rate", "0.01")),
+                    System.getProperty("load.label", "load-" + Instant.now().getEpochSecond()),
+                    Path.of(System.getProperty("load.report-dir", "target/load-reports"))
+            );
+        }
+
+        private static Map<Operation, Integer> parseMix(String mix) {
+            Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+            for (String entry : mix.split(",")) {
+                String[] parts = entry.trim().split(":");
+                weights.put(Operation.valueOf(parts[0].trim().toUpperCase(Locale.ROOT)), Integer.parseInt(parts[1].trim()));
+            }
+            if (weights.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+                throw new IllegalArgumentException("load.mix must have a positive total weight: " + mix);
+            }
+            return weights;
+        }
+
+        Operation nextOperation() {
+            int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+            int pick = ThreadLocalRandom.current().nextInt(total);
+            for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+                pick -= entry.getValue();
+                if (pick < 0) {
+                    return entry.getKey();
+                }
+            }
+            throw new IllegalStateException("Unreachable");
+        }
+
+        Map<String, Object> describe() {
+            Map<String, Object> settings = new LinkedHashMap<>();
+            settings.put("concurrency", concurrency);
+            settings.put("warmup", warmup.toString());
+            settings.put("duration", duration.toString());
+            settings.put("mix", mix.toString());
+            settings.put("stubLatency", stubLatency.toString());
+            settings.put("seedOrders", seedOrders);
+            settings.put("assets", assets);
+            settings.put("users", users);
+            settings.put("listLimit", listLimit);
+            return settings;
+        }
+    }
+}
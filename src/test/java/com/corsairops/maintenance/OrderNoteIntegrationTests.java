@@ -3,11 +3,14 @@ package com.corsairops.maintenance;
 import com.corsairops.maintenance.dto.OrderNoteRequest;
 import com.corsairops.maintenance.dto.OrderNoteResponse;
 import com.corsairops.maintenance.model.Order;
+import com.corsairops.maintenance.model.OrderNote;
 import com.corsairops.maintenance.model.OrderStatus;
+import com.corsairops.maintenance.repository.OrderNoteRepository;
 import com.corsairops.maintenance.repository.OrderRepository;
 import com.corsairops.shared.client.UserServiceClient;
 import com.corsairops.shared.dto.User;
 import io.restassured.RestAssured;
+import io.restassured.common.mapper.TypeRef;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -16,11 +19,14 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.server.LocalServerPort;
 import org.springframework.context.annotation.Import;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.web.client.ResourceAccessException;
 
 import java.util.List;
+import java.util.Map;
 
 import static java.time.LocalDateTime.*;
 import static java.util.UUID.*;
+import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 
 import static com.corsairops.maintenance.RestAssuredUtil.*;
@@ -44,6 +50,9 @@ public class OrderNoteIntegrationTests {
     @Autowired
     private OrderRepository orderRepository;
 
+    @Autowired
+    private OrderNoteRepository orderNoteRepository;
+
     private Order mockOrder;
 
     @MockitoBean
@@ -124,6 +133,172 @@ public class OrderNoteIntegrationTests {
                 .body("[1].note", equalTo("Checked landing gear"));
     }
 
+    @Test
+    void givenMoreNotesThanLimit_whenGetNotes_thenPagedWithCursor() {
+        addNoteToOrder(mockOrder.getId(), "Note 1", "tech1");
+        addNoteToOrder(mockOrder.getId(), "Note 2", "tech1");
+        addNoteToOrder(mockOrder.getId(), "Note 3", "tech1");
+
+        String cursor = jsonRequest()
+                .queryParam("limit", 2)
+                .when()
+                .get("/{orderId}/notes", mockOrder.getId())
+                .then()
+                .statusCode(200)
+                .body("note", contains("Note 3", "Note 2"))
+                .header("X-Next-Cursor", notNullValue())
+                .extract()
+                .header("X-Next-Cursor");
+
+        jsonRequest()
+                .queryParam("limit", 2)
+                .queryParam("cursor", cursor)
+                .when()
+                .get("/{orderId}/notes", mockOrder.getId())
+                .then()
+                .statusCode(200)
+                .body("note", contains("Note 1"))
+                .header("X-Next-Cursor", nullValue());
+    }
+
+    @Test
+    void givenSince_whenGetNotes_thenOnlyNewerNotes() {
+        var firstNote = addNoteToOrder(mockOrder.getId(), "Before poll", "tech1");
+        addNoteToOrder(mockOrder.getId(), "After poll", "tech1");
+
+        jsonRequest()
+                .queryParam("since", firstNote.createdAt().toString())
+                .when()
+                .get("/{orderId}/notes", mockOrder.getId())
+                .then()
+                .statusCode(200)
+                .body("note", contains("After poll"));
+    }
+
+    @Test
+    void givenMatchingETag_whenGetNotes_thenNotModifiedUntilNoteAdded() {
+        addNoteToOrder(mockOrder.getId(), "First note", "tech1");
+
+        String etag = jsonRequest()
+                .when()
+                .get("/{orderId}/notes", mockOrder.getId())
+                .then()
+                .statusCode(200)
+                .header("ETag", notNullValue())
+                .extract()
+                .header("ETag");
+
+        jsonRequest()
+                .header("If-None-Match", etag)
+                .when()
+                .get("/{orderId}/notes", mockOrder.getId())
+                .then()
+                .statusCode(304);
+
+        addNoteToOrder(mockOrder.getId(), "Second note", "tech1");
+
+        jsonRequest()
+                .header("If-None-Match", etag)
+                .when()
+                .get("/{orderId}/notes", mockOrder.getId())
+                .then()
+                .statusCode(200)
+                .body("", hasSize(2));
+    }
+
+    @Test
+    void givenInvalidOrderId_whenGetNotes_thenNotFound() {
+        jsonRequest()
+                .when()
+                .get("/{orderId}/notes", 9999L)
+                .then()
+                .statusCode(404);
+    }
+
+    @Test
+    void givenManyOrders_whenGetLatestNotes_thenTopNotesPerOrder() {
+        var otherOrder = orderRepository.save(Order.builder()
+                .assetId(randomUUID().toString())
+                .description("Hull inspection")
+                .status(OrderStatus.PENDING)
+                .priority(3)
+                .placedBy("planner 1")
+                .build());
+        // Notes by users nobody has looked up yet, so the batch read has to fetch them
+        String engineTech = "engine-" + randomUUID();
+        String hullTech = "hull-" + randomUUID();
+        saveNote(mockOrder, "Old engine note", engineTech);
+        saveNote(mockOrder, "New engine note", engineTech);
+        saveNote(otherOrder, "Hull note", hullTech);
+
+        Map<Long, List<OrderNoteResponse>> notes = jsonRequest()
+                .queryParam("orderIds", mockOrder.getId() + "," + otherOrder.getId() + ",9999")
+                .queryParam("limit", 1)
+                .when()
+                .get("/notes")
+                .then()
+                .statusCode(200)
+                .extract()
+                .as(new TypeRef<>() {});
+
+        assertThat(notes.get(mockOrder.getId()).stream().map(OrderNoteResponse::note).toList(), contains("New engine note"));
+        assertThat(notes.get(otherOrder.getId()).stream().map(OrderNoteResponse::note).toList(), contains("Hull note"));
+        assertThat(notes.get(9999L), empty());
+        // Both users are fetched in one coalesced call
+        Mockito.verify(userServiceClient, Mockito.times(1)).getUsersByIds(Mockito.anyString(), Mockito.anyBoolean());
+    }
+
+    @Test
+    void givenRepeatedReads_whenGetNotes_thenUsersServedFromCache() {
+        addNoteToOrder(mockOrder.getId(), "Checked landing gear", "tech1");
+        // Warm the user cache, then only count the repeated reads
+        jsonRequest()
+                .when()
+                .get("/{orderId}/notes", mockOrder.getId())
+                .then()
+                .statusCode(200);
+        Mockito.clearInvocations(userServiceClient);
+
+        for (int i = 0; i < 3; i++) {
+            jsonRequest()
+                    .when()
+                    .get("/{orderId}/notes", mockOrder.getId())
+                    .then()
+                    .statusCode(200)
+                    .body("[0].createdBy.id", equalTo(MOCK_USER.id()));
+        }
+
+        Mockito.verify(userServiceClient, Mockito.never()).getUsersByIds(Mockito.anyString(), Mockito.anyBoolean());
+    }
+
+    @Test
+    void givenUserServiceUnreachable_whenAddAndGetNotes_thenPlaceholdersCached() {
+        String offlineUser = "offline-" + randomUUID();
+        String otherOfflineUser = "offline-" + randomUUID();
+        Mockito.when(userServiceClient.getUsersByIds(Mockito.anyString(), Mockito.anyBoolean()))
+                .thenThrow(new ResourceAccessException("Connection refused"));
+
+        addNoteToOrder(mockOrder.getId(), "Written during outage", offlineUser);
+        saveNote(mockOrder, "Imported during outage", otherOfflineUser);
+
+        jsonRequest()
+                .when()
+                .get("/{orderId}/notes", mockOrder.getId())
+                .then()
+                .statusCode(200)
+                .body("createdBy.id", containsInAnyOrder(offlineUser, otherOfflineUser))
+                .body("createdBy.username", everyItem(nullValue()));
+
+        // The failures are cached as placeholders, so the outage is not retried on every read.
+        Mockito.clearInvocations(userServiceClient);
+        jsonRequest()
+                .when()
+                .get("/{orderId}/notes", mockOrder.getId())
+                .then()
+                .statusCode(200);
+        Mockito.verify(userServiceClient, Mockito.never()).getUsersByIds(Mockito.anyString(), Mockito.anyBoolean());
+    }
+
     @Test
     void givenInvalidOrderId_whenDeleteNote_thenNotFound() {
         var invalidOrderId = 9999L;
@@ -168,12 +343,20 @@ public class OrderNoteIntegrationTests {
                 .body("", hasSize(0));
     }
 
+    private void saveNote(Order order, String noteContent, String createdBy) {
+        orderNoteRepository.save(OrderNote.builder()
+                .order(order)
+                .note(noteContent)
+                .createdBy(createdBy)
+                .build());
+    }
+
     private OrderNoteResponse addNoteToOrder(Long orderId, String noteContent, String addedBy) {
         var noteRequest = new OrderNoteRequest(noteContent);
         return jsonRequest(noteRequest)
                 .header("X-User-Id", addedBy)
                 .when()
-                .post("/{orderId}/notes", mockOrder.getId())
+                .post("/{orderId}/notes", orderId)
                 .then()
                 .statusCode(201)
                 .body("note", equalTo(noteContent))
@@ -3,12 +3,15 @@ package com.corsairops.maintenance;
 
 import com.corsairops.maintenance.dto.OrderNoteRequest;
 import com.corsairops.maintenance.exception.OrderNotFoundException;
+import com.corsairops.maintenance.exception.OrderNoteNotFoundException;
 import com.corsairops.maintenance.model.Order;
 import com.corsairops.maintenance.model.OrderNote;
+import com.corsairops.maintenance.model.OrderNoteView;
 import com.corsairops.maintenance.model.OrderStatus;
 import com.corsairops.maintenance.repository.OrderRepository;
 import com.corsairops.maintenance.repository.OrderNoteRepository;
 import com.corsairops.maintenance.service.OrderNoteService;
+import com.corsairops.maintenance.util.StatementCounter;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -22,7 +25,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.junit.jupiter.api.Assertions.*;
 
-@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "statement-metrics.enabled=true")
 @Import(TestcontainersConfiguration.class)
 public class OrderNoteServiceTests {
 
@@ -35,6 +38,9 @@ public class OrderNoteServiceTests {
     @Autowired
     private OrderRepository orderRepository;
 
+    @Autowired
+    private StatementCounter statementCounter;
+
     private Long validOrderId;
 
     @BeforeEach
@@ -81,29 +87,26 @@ public class OrderNoteServiceTests {
     }
 
     @Test
-    void givenValidOrderId_whenGetAllNotes_thenReturnNotesList() {
+    void givenValidOrderId_whenGetNotePage_thenReturnNotesNewestFirst() {
         orderNoteService.addNote(validOrderId,  new OrderNoteRequest("First note"), "tech1");
         orderNoteService.addNote(validOrderId, new OrderNoteRequest("Second note"), "tech2");
 
-        List<OrderNote> notes = orderNoteService.getAllNotes(validOrderId);
-        assertThat(notes, hasSize(2));
-        assertThat(notes, hasItem(hasProperty("note", equalTo("First note"))));
-        assertThat(notes, hasItem(hasProperty("note", equalTo("Second note"))));
-
-        assertTrue(notes.getFirst().getCreatedAt().isAfter(notes.getLast().getCreatedAt()));
+        List<OrderNoteView> notes = orderNoteService.getNotePage(validOrderId, null, null, null).notes();
+        assertThat(notes.stream().map(OrderNoteView::note).toList(), contains("Second note", "First note"));
+        assertFalse(notes.getFirst().createdAt().isBefore(notes.getLast().createdAt()));
     }
 
     @Test
-    void givenInvalidOrderId_whenGetAllNotes_thenThrowOrderNotFoundException() {
+    void givenInvalidOrderId_whenGetNotePage_thenThrowOrderNotFoundException() {
         Long invalidOrderId = 999L;
 
         assertThrows(OrderNotFoundException.class, () ->
-                orderNoteService.getAllNotes(invalidOrderId));
+                orderNoteService.getNotePage(invalidOrderId, null, null, null));
     }
 
     @Test
-    void givenNoNotes_whenGetAllNotes_thenReturnEmptyList() {
-        List<OrderNote> notes = orderNoteService.getAllNotes(validOrderId);
+    void givenNoNotes_whenGetNotePage_thenReturnEmptyPage() {
+        List<OrderNoteView> notes = orderNoteService.getNotePage(validOrderId, null, null, null).notes();
         assertThat(notes, hasSize(0));
     }
 
@@ -120,7 +123,7 @@ public class OrderNoteServiceTests {
     void givenValidOrderIdAndInvalidNoteId_whenDeleteNote_thenThrowOrderNoteNotFoundException() {
         Long invalidNoteId = 999L;
 
-        assertThrows(com.corsairops.maintenance.exception.OrderNoteNotFoundException.class, () ->
+        assertThrows(OrderNoteNotFoundException.class, () ->
                 orderNoteService.deleteNote(validOrderId, invalidNoteId));
     }
 
@@ -131,8 +134,56 @@ public class OrderNoteServiceTests {
 
         orderNoteService.deleteNote(validOrderId, noteId);
 
-        List<OrderNote> notes = orderNoteService.getAllNotes(validOrderId);
+        List<OrderNoteView> notes = orderNoteService.getNotePage(validOrderId, null, null, null).notes();
         assertThat(notes, hasSize(0));
     }
 
-}
\ No newline at end of file
+    @Test
+    void givenValidOrderId_whenAddNote_thenSingleStatement() {
+        long statements = countStatements(() ->
+                orderNoteService.addNote(validOrderId, new OrderNoteRequest("Counted note"), "tech1"));
+
+        assertThat(statements, equalTo(1L));
+    }
+
+    @Test
+    void givenNotes_whenGetNotePage_thenSingleStatement() {
+        orderNoteService.addNote(validOrderId, new OrderNoteRequest("Counted note"), "tech1");
+
+        long statements = countStatements(() -> orderNoteService.getNotePage(validOrderId, null, null, null));
+
+        assertThat(statements, equalTo(1L));
+    }
+
+    @Test
+    void givenNoNotes_whenGetNotePage_thenPageAndExistenceCheckOnly() {
+        long statements = countStatements(() -> orderNoteService.getNotePage(validOrderId, null, null, null));
+
+        assertThat(statements, equalTo(2L));
+    }
+
+    @Test
+    void givenValidOrderIdAndNoteId_whenDeleteNote_thenSingleStatement() {
+        Long noteId = orderNoteService.addNote(validOrderId, new OrderNoteRequest("Counted note"), "tech1").getId();
+
+        long statements = countStatements(() -> orderNoteService.deleteNote(validOrderId, noteId));
+
+        assertThat(statements, equalTo(1L));
+    }
+
+    @Test
+    void givenValidOrderIdAndInvalidNoteId_whenDeleteNote_thenDeleteAndExistenceCheckOnly() {
+        long statements = countStatements(() -> assertThrows(OrderNoteNotFoundException.class, () ->
+                orderNoteService.deleteNote(validOrderId, 999L)));
+
+        assertThat(statements, equalTo(2L));
+    }
+
+    // Counted at the DataSource, so the JdbcTemplate reads behind getNotePage show up as well as Hibernate's statements.
+    private long countStatements(Runnable action) {
+        long before = statementCounter.totalStatements();
+        action.run();
+        return statementCounter.totalStatements() - before;
+    }
+
+}
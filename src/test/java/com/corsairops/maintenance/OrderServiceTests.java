@@ -1,12 +1,18 @@
 package com.corsairops.maintenance;
 
+import com.corsairops.maintenance.dto.OrderFilter;
 import com.corsairops.maintenance.dto.OrderRequest;
 import com.corsairops.maintenance.exception.OpenOrderExistsException;
 import com.corsairops.maintenance.exception.OrderNotFoundException;
+import com.corsairops.maintenance.exception.OrderVersionMismatchException;
 import com.corsairops.maintenance.model.Order;
+import com.corsairops.maintenance.model.OrderSort;
 import com.corsairops.maintenance.model.OrderStatus;
+import com.corsairops.maintenance.model.OrderView;
 import com.corsairops.maintenance.repository.OrderRepository;
+import com.corsairops.maintenance.dto.OrderStatsResponse;
 import com.corsairops.maintenance.service.OrderService;
+import com.corsairops.maintenance.service.OrderStatsService;
 import com.corsairops.shared.client.AssetServiceClient;
 import com.corsairops.shared.dto.asset.AssetResponse;
 import com.corsairops.shared.dto.asset.AssetStatus;
@@ -27,8 +33,11 @@ import java.util.List;
 import java.util.UUID;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
@@ -58,6 +67,9 @@ public class OrderServiceTests {
     @Autowired
     private OrderService orderService;
 
+    @Autowired
+    private OrderStatsService orderStatsService;
+
     @MockitoBean
     private AssetServiceClient assetServiceClient;
 
@@ -90,6 +102,22 @@ public class OrderServiceTests {
         });
     }
 
+    @Test
+    void givenCachedMissingAsset_whenCreateOrderTwice_thenFreshExceptionPerCall() {
+        String missingAssetId = UUID.randomUUID().toString();
+        doThrow(new HttpClientErrorException(HttpStatusCode.valueOf(404), "Not Found"))
+                .when(assetServiceClient)
+                .getAssetById(UUID.fromString(missingAssetId));
+        var request = new OrderRequest(missingAssetId, "Fix the leaking pipe", OrderStatus.PENDING, 1);
+
+        var first = assertThrows(HttpClientErrorException.class, () -> orderService.createOrder(request, null));
+        var second = assertThrows(HttpClientErrorException.class, () -> orderService.createOrder(request, null));
+
+        assertThat(second, not(sameInstance(first)));
+        assertThat(second.getStatusCode().value(), equalTo(404));
+        verify(assetServiceClient, times(1)).getAssetById(UUID.fromString(missingAssetId));
+    }
+
     @Test
     void givenExistingOpenOrder_whenCreateOrder_thenThrowException() {
         createExistingOrder();
@@ -106,6 +134,41 @@ public class OrderServiceTests {
         });
     }
 
+    @Test
+    void givenExistingOpenOrder_whenReopenOtherOrder_thenThrowException() {
+        createExistingOrder();
+        var closedOrder = orderRepository.save(Order.builder()
+                .assetId(VALID_ASSET_ID)
+                .description("Closed order")
+                .status(OrderStatus.COMPLETED)
+                .priority(3)
+                .build());
+
+        var reopenRequest = new OrderRequest(VALID_ASSET_ID, "Closed order", OrderStatus.IN_PROGRESS, 3);
+
+        assertThrows(OpenOrderExistsException.class, () -> {
+            orderService.updateOrder(closedOrder.getId(), reopenRequest);
+        });
+    }
+
+    @Test
+    void givenRequestForOtherAsset_whenReopenOrderWithOpenSibling_thenConflictNamesStoredAsset() {
+        createExistingOrder();
+        var closedOrder = orderRepository.save(Order.builder()
+                .assetId(VALID_ASSET_ID)
+                .description("Closed order")
+                .status(OrderStatus.COMPLETED)
+                .priority(3)
+                .build());
+
+        var reopenRequest = new OrderRequest("some-other-asset-id", "Closed order", OrderStatus.IN_PROGRESS, 3);
+
+        var exception = assertThrows(OpenOrderExistsException.class, () ->
+                orderService.updateOrder(closedOrder.getId(), reopenRequest));
+        assertThat(exception.getMessage(), containsString(VALID_ASSET_ID));
+        assertThat(exception.getMessage(), not(containsString("some-other-asset-id")));
+    }
+
     @Test
     void givenValidOrderRequest_whenCreateOrder_thenReturnOrder() {
         OrderRequest request = new OrderRequest(
@@ -126,49 +189,49 @@ public class OrderServiceTests {
     }
 
     @Test
-    void whenGetAllOrders_thenReturnOrderList() {
+    void whenGetOrderPage_thenReturnOrderList() {
         createExistingOrder();
-        List<Order> orders = orderService.getAllOrders();
+        List<OrderView> orders = orderService.getOrderPage(OrderFilter.none(), OrderSort.CREATED_AT, null, null).orders();
 
         assertThat(orders, Matchers.hasSize(1));
-        assertThat(orders.getFirst().getAssetId(), equalTo(VALID_ASSET_ID));
+        assertThat(orders.getFirst().assetId(), equalTo(VALID_ASSET_ID));
     }
 
     @Test
-    void whenGetAllOrdersByAssetId_thenReturnOrderList() {
+    void whenGetOrderPageByAssetId_thenReturnOrderList() {
         createExistingOrder();
-        List<Order> orders = orderService.getAllOrders(VALID_ASSET_ID);
+        List<OrderView> orders = orderService.getOrderPage(OrderFilter.byAssetId(VALID_ASSET_ID), OrderSort.CREATED_AT, null, null).orders();
 
         assertThat(orders, Matchers.hasSize(1));
-        assertThat(orders.getFirst().getAssetId(), equalTo(VALID_ASSET_ID));
+        assertThat(orders.getFirst().assetId(), equalTo(VALID_ASSET_ID));
     }
 
     @Test
-    void whenGetAllOrdersByNonExistingAssetId_thenReturnEmptyList() {
+    void whenGetOrderPageByNonExistingAssetId_thenReturnEmptyList() {
         createExistingOrder();
-        List<Order> orders = orderService.getAllOrders(INVALID_ASSET_ID);
+        List<OrderView> orders = orderService.getOrderPage(OrderFilter.byAssetId(INVALID_ASSET_ID), OrderSort.CREATED_AT, null, null).orders();
 
         assertThat(orders, Matchers.hasSize(0));
     }
 
     @Test
-    void givenInvalidOrderId_whenGetOrderById_thenThrowException() {
+    void givenInvalidOrderId_whenGetOrderView_thenThrowException() {
         assertThrows(OrderNotFoundException.class, () -> {
-            orderService.getOrderById(999L);
+            orderService.getOrderView(999L);
         });
     }
 
     @Test
-    void givenValidOrderId_whenGetOrderById_thenReturnOrder() {
+    void givenValidOrderId_whenGetOrderView_thenReturnOrder() {
         var existingOrder = createExistingOrder();
 
-        var fetchedOrder = orderService.getOrderById(existingOrder.getId());
+        var fetchedOrder = orderService.getOrderView(existingOrder.getId());
 
-        assertThat(fetchedOrder.getId(), equalTo(existingOrder.getId()));
-        assertThat(fetchedOrder.getAssetId(), equalTo(VALID_ASSET_ID));
-        assertThat(fetchedOrder.getDescription(), equalTo("Existing order"));
-        assertThat(fetchedOrder.getStatus(), equalTo(OrderStatus.PENDING));
-        assertThat(fetchedOrder.getPriority(), equalTo(3));
+        assertThat(fetchedOrder.id(), equalTo(existingOrder.getId()));
+        assertThat(fetchedOrder.assetId(), equalTo(VALID_ASSET_ID));
+        assertThat(fetchedOrder.description(), equalTo("Existing order"));
+        assertThat(fetchedOrder.status(), equalTo(OrderStatus.PENDING));
+        assertThat(fetchedOrder.priority(), equalTo(3));
     }
 
     @Test
@@ -195,11 +258,22 @@ public class OrderServiceTests {
         );
 
         var updatedOrder = orderService.updateOrder(existingOrder.getId(), updateRequest);
-        assertThat(updatedOrder.getId(), equalTo(existingOrder.getId()));
-        assertThat(updatedOrder.getAssetId(), equalTo(VALID_ASSET_ID));
-        assertThat(updatedOrder.getDescription(), equalTo("Updated description"));
-        assertThat(updatedOrder.getStatus(), equalTo(OrderStatus.IN_PROGRESS));
-        assertThat(updatedOrder.getPriority(), equalTo(1));
+        assertThat(updatedOrder.id(), equalTo(existingOrder.getId()));
+        assertThat(updatedOrder.assetId(), equalTo(VALID_ASSET_ID));
+        assertThat(updatedOrder.description(), equalTo("Updated description"));
+        assertThat(updatedOrder.status(), equalTo(OrderStatus.IN_PROGRESS));
+        assertThat(updatedOrder.priority(), equalTo(1));
+        assertThat(updatedOrder.version(), equalTo(existingOrder.getVersion() + 1));
+    }
+
+    @Test
+    void givenStaleVersion_whenUpdateOrder_thenThrowOrderVersionMismatchException() {
+        var existingOrder = createExistingOrder();
+        var updateRequest = new OrderRequest(VALID_ASSET_ID, "Updated description", OrderStatus.IN_PROGRESS, 1);
+        orderService.updateOrder(existingOrder.getId(), updateRequest, existingOrder.getVersion());
+
+        assertThrows(OrderVersionMismatchException.class, () ->
+                orderService.updateOrder(existingOrder.getId(), updateRequest, existingOrder.getVersion()));
     }
 
     @Test
@@ -217,6 +291,40 @@ public class OrderServiceTests {
         assertFalse(orderRepository.existsById(orderId));
     }
 
+    @Test
+    void givenOrderWrites_whenGetStats_thenRollupFollowsWrites() {
+        orderStatsService.rebuildStats();
+
+        Order order = orderService.createOrder(new OrderRequest(VALID_ASSET_ID, "Stats check", OrderStatus.PENDING, 2), "tech1");
+        OrderStatsResponse stats = orderStatsService.getStats(null, null);
+        assertThat(stats.total(), equalTo(1L));
+        assertThat(stats.byStatus().get(OrderStatus.PENDING), equalTo(1L));
+        assertThat(stats.byPriority().get(2), equalTo(1L));
+
+        orderService.updateOrder(order.getId(), new OrderRequest(VALID_ASSET_ID, "Stats check", OrderStatus.COMPLETED, 4));
+        stats = orderStatsService.getStats(null, null);
+        assertThat(stats.total(), equalTo(1L));
+        assertThat(stats.byStatus().getOrDefault(OrderStatus.PENDING, 0L), equalTo(0L));
+        assertThat(stats.byStatus().get(OrderStatus.COMPLETED), equalTo(1L));
+        assertThat(stats.byPriority().get(4), equalTo(1L));
+
+        orderService.deleteOrder(order.getId());
+        assertThat(orderStatsService.getStats(null, null).total(), equalTo(0L));
+    }
+
+    @Test
+    void givenOrdersWrittenOutsideService_whenRebuildStats_thenRollupRepaired() {
+        orderStatsService.rebuildStats();
+        createExistingOrder();
+        assertThat(orderStatsService.getStats(null, null).total(), equalTo(0L));
+
+        orderStatsService.rebuildStats();
+
+        OrderStatsResponse stats = orderStatsService.getStats(null, null);
+        assertThat(stats.total(), equalTo(1L));
+        assertThat(stats.byStatus().get(OrderStatus.PENDING), equalTo(1L));
+    }
+
     private Order createExistingOrder() {
         // Create existing order
         Order order = Order.builder()
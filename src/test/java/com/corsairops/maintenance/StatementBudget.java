@@ -0,0 +1,20 @@
+package com.corsairops.maintenance;
+
+import com.corsairops.maintenance.util.StatementCounter;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Asserts how many JDBC statements an action issues, using the {@link StatementCounter} installed when
+ * statement-metrics.enabled is set. Counts cover all threads, so the action should be the only database work running.
+ */
+public class StatementBudget {
+
+    public static void assertStatementsAtMost(StatementCounter statementCounter, long budget, Runnable action) {
+        long before = statementCounter.totalStatements();
+        action.run();
+        long statements = statementCounter.totalStatements() - before;
+        assertThat("JDBC statements issued", statements, lessThanOrEqualTo(budget));
+    }
+}
@@ -0,0 +1,193 @@
+package com.corsairops.maintenance;
+
+import com.corsairops.maintenance.dto.OrderNoteRequest;
+import com.corsairops.maintenance.dto.OrderRequest;
+import com.corsairops.maintenance.model.Order;
+import com.corsairops.maintenance.model.OrderNote;
+import com.corsairops.maintenance.model.OrderStatus;
+import com.corsairops.maintenance.repository.OrderNoteRepository;
+import com.corsairops.maintenance.repository.OrderRepository;
+import com.corsairops.maintenance.util.StatementCounter;
+import com.corsairops.shared.client.AssetServiceClient;
+import com.corsairops.shared.client.UserServiceClient;
+import com.corsairops.shared.dto.User;
+import com.corsairops.shared.dto.asset.AssetResponse;
+import io.restassured.RestAssured;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.List;
+import java.util.UUID;
+
+import static com.corsairops.maintenance.RestAssuredUtil.*;
+import static com.corsairops.maintenance.StatementBudget.*;
+import static com.corsairops.shared.dto.asset.AssetStatus.*;
+import static com.corsairops.shared.dto.asset.AssetType.*;
+import static java.time.LocalDateTime.*;
+
+/**
+ * Statement budgets per endpoint, guarding against N+1 queries and redundant round trips. Each budget is the number of
+ * statements the endpoint needs today; raise one only with a reason.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "statement-metrics.enabled=true")
+@Import(TestcontainersConfiguration.class)
+public class StatementBudgetTests {
+    private static final String USER_ID = "tech1";
+    private static final User MOCK_USER = new User(USER_ID, "Tech One", "tech1@email.com", "Tech", "1", true, null,
+            List.of("TECHNICIAN"));
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private StatementCounter statementCounter;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderNoteRepository orderNoteRepository;
+
+    @MockitoBean
+    private AssetServiceClient assetServiceClient;
+
+    @MockitoBean
+    private UserServiceClient userServiceClient;
+
+    private Order order;
+
+    @BeforeEach
+    void setup() {
+        RestAssured.port = port;
+        RestAssured.basePath = "/api/maintenance/orders";
+        RestAssured.enableLoggingOfRequestAndResponseIfValidationFails();
+        Mockito.when(assetServiceClient.getAssetById(Mockito.any()))
+                .thenAnswer(invocation -> new AssetResponse(invocation.getArgument(0), "Tank A", GROUND_VEHICLE, ACTIVE,
+                        90.0, 90.0, now().minusDays(10), now().minusDays(1)));
+        Mockito.when(userServiceClient.getUsersByIds(Mockito.anyString(), Mockito.anyBoolean()))
+                .thenReturn(List.of(MOCK_USER));
+
+        order = orderRepository.save(Order.builder()
+                .assetId(UUID.randomUUID().toString())
+                .description("Engine check")
+                .status(OrderStatus.PENDING)
+                .priority(2)
+                .placedBy(USER_ID)
+                .build());
+        for (int i = 0; i < 3; i++) {
+            orderNoteRepository.save(OrderNote.builder()
+                    .order(order)
+                    .note("Note " + i)
+                    .createdBy(USER_ID)
+                    .build());
+        }
+    }
+
+    @AfterEach
+    void cleanup() {
+        Mockito.reset(assetServiceClient);
+        Mockito.reset(userServiceClient);
+        orderNoteRepository.deleteAll();
+        orderRepository.deleteAll();
+    }
+
+    @Test
+    void givenOrderWithNotes_whenGetOrder_thenOneStatement() {
+        // The order has notes, so touching the lazy notes collection would show up here.
+        assertStatementsAtMost(statementCounter, 1, () -> jsonRequest()
+                .when()
+                .get("/{id}", order.getId())
+                .then()
+                .statusCode(200));
+    }
+
+    @Test
+    void givenOrders_whenGetOrders_thenOneStatement() {
+        assertStatementsAtMost(statementCounter, 1, () -> jsonRequest()
+                .when()
+                .get()
+                .then()
+                .statusCode(200));
+    }
+
+    @Test
+    void givenOrderWithNotes_whenGetNotes_thenAtMostTwoStatements() {
+        assertStatementsAtMost(statementCounter, 2, () -> jsonRequest()
+                .when()
+                .get("/{id}/notes", order.getId())
+                .then()
+                .statusCode(200));
+    }
+
+    @Test
+    void givenOrderWithoutNotes_whenGetNotes_thenAtMostTwoStatements() {
+        orderNoteRepository.deleteAll();
+
+        assertStatementsAtMost(statementCounter, 2, () -> jsonRequest()
+                .when()
+                .get("/{id}/notes", order.getId())
+                .then()
+                .statusCode(200));
+    }
+
+    @Test
+    void givenOrders_whenGetLatestNotes_thenOneStatement() {
+        assertStatementsAtMost(statementCounter, 1, () -> jsonRequest()
+                .queryParam("orderIds", order.getId())
+                .when()
+                .get("/notes")
+                .then()
+                .statusCode(200));
+    }
+
+    @Test
+    void givenOrder_whenAddNote_thenOneStatement() {
+        assertStatementsAtMost(statementCounter, 1, () -> jsonRequest(new OrderNoteRequest("Replaced oil filter"))
+                .header("X-User-Id", USER_ID)
+                .when()
+                .post("/{id}/notes", order.getId())
+                .then()
+                .statusCode(201));
+    }
+
+    @Test
+    void givenValidRequest_whenCreateOrder_thenAtMostThreeStatements() {
+        // Sequence fetch (once per allocation block), insert and rollup upsert
+        var request = new OrderRequest(UUID.randomUUID().toString(), "Routine check", OrderStatus.PENDING, 3);
+
+        assertStatementsAtMost(statementCounter, 3, () -> jsonRequest(request)
+                .header("X-User-Id", USER_ID)
+                .when()
+                .post()
+                .then()
+                .statusCode(201));
+    }
+
+    @Test
+    void givenOrder_whenUpdateOrder_thenTwoStatements() {
+        // Conditional update returning the previous row, then the rollup upsert
+        var request = new OrderRequest(order.getAssetId(), "Engine check, second pass", OrderStatus.IN_PROGRESS, 4);
+
+        assertStatementsAtMost(statementCounter, 2, () -> jsonRequest(request)
+                .when()
+                .put("/{id}", order.getId())
+                .then()
+                .statusCode(200));
+    }
+
+    @Test
+    void givenOrder_whenDeleteOrder_thenTwoStatements() {
+        assertStatementsAtMost(statementCounter, 2, () -> jsonRequest()
+                .when()
+                .delete("/{id}", order.getId())
+                .then()
+                .statusCode(204));
+    }
+}